@@ -0,0 +1,71 @@
+package checkers.benchmark;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.exception.BadMoveException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A fixed corpus of positions for the benchmarks, made by random games with
+ * a fixed seed so that every run measures the same positions.
+ */
+public final class BenchmarkPositions {
+	public static final int POSITIONS_PER_PHASE = 32;
+
+	private static final long SEED = 20200901L;
+
+	public enum Phase {
+		/** 4 to 8 plies into the game. */
+		OPENING,
+		/** 16 to 20 pieces left. */
+		MIDDLEGAME,
+		/** 4 to 8 pieces left. */
+		ENDGAME;
+
+		boolean contains(int ply, int pieces) {
+			switch (this) {
+			case OPENING:
+				return ply >= 4 && ply <= 8;
+			case MIDDLEGAME:
+				return pieces >= 16 && pieces <= 20;
+			default:
+				return pieces >= 4 && pieces <= 8;
+			}
+		}
+	}
+
+	private BenchmarkPositions() {
+	}
+
+	/**
+	 * @return {@link #POSITIONS_PER_PHASE} positions of the given phase, each with at least one legal move.
+	 */
+	public static CheckersBoard[] positions(Phase phase) {
+		Random random = new Random(SEED + phase.ordinal());
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		List<CheckersBoard> positions = new ArrayList<>();
+		while (positions.size() < POSITIONS_PER_PHASE) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0; ply < 400; ply++) {
+				int count = board.legalMoves(moves);
+				if (count == 0) {
+					break;
+				}
+				int pieces = Integer.bitCount(board.getPieces(CheckersBoard.Player.BLACK) | board.getPieces(CheckersBoard.Player.RED));
+				if (phase.contains(ply, pieces) && random.nextInt(4) == 0) {
+					positions.add(board.clone());
+					break;
+				}
+				try {
+					board.processMove(moves[random.nextInt(count)]);
+				} catch (BadMoveException e) {
+					throw new IllegalStateException("The move generator produced an illegal move!", e);
+				}
+			}
+		}
+		return positions.toArray(new CheckersBoard[0]);
+	}
+}
@@ -0,0 +1,146 @@
+package checkers.benchmark;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.exception.BadMoveException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot paths of {@link CheckersBoard}, measured over the positions of
+ * {@link BenchmarkPositions}. Every invocation moves on to the next position,
+ * so a score is the average over the whole phase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckersBoardBenchmark {
+	@Param({ "OPENING", "MIDDLEGAME", "ENDGAME" })
+	public BenchmarkPositions.Phase phase;
+
+	private CheckersBoard[] positions;
+	private CheckersBoard[] copies;
+	private CheckersMove[] firstMoves;
+	private String[] texts;
+	private final CheckersBoard scratch = CheckersBoard.initBoard();
+	private final StringBuilder text = new StringBuilder(CheckersBoard.POSITION_LENGTH);
+	private int index;
+
+	@Setup
+	public void setUp() {
+		positions = BenchmarkPositions.positions(phase);
+		copies = new CheckersBoard[positions.length];
+		firstMoves = new CheckersMove[positions.length];
+		texts = new String[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			copies[i] = positions[i].clone();
+			List<CheckersMove> captures = positions[i].possibleCaptures();
+			firstMoves[i] = captures.isEmpty() ? positions[i].possibleMoves().get(0) : captures.get(0);
+			texts[i] = positions[i].position();
+		}
+	}
+
+	private int next() {
+		index = (index + 1) & (BenchmarkPositions.POSITIONS_PER_PHASE - 1);
+		return index;
+	}
+
+	@Benchmark
+	public List<CheckersMove> possibleMoves() {
+		return positions[next()].possibleMoves();
+	}
+
+	@Benchmark
+	public List<CheckersMove> possibleCaptures() {
+		return positions[next()].possibleCaptures();
+	}
+
+	@Benchmark
+	public boolean isMovePossible() {
+		return positions[next()].isMovePossible();
+	}
+
+	/**
+	 * The check that {@link CheckersBoard#play} makes every ply to detect a loss or a blocked game.
+	 */
+	@Benchmark
+	public boolean hasLegalAction() {
+		return positions[next()].hasLegalAction();
+	}
+
+	@Benchmark
+	public boolean isCapturePossible() {
+		return positions[next()].isCapturePossible();
+	}
+
+	/**
+	 * Asks every square whether it can capture, as a bot walking the board would.
+	 */
+	@Benchmark
+	public int capturePredicates() {
+		CheckersBoard board = positions[next()];
+		int count = 0;
+		for (int i = 0; i < 8; i++) {
+			for (int j = (i + 1) & 1; j < 8; j += 2) {
+				if (board.isCapturePossibleAtPosition(board.getCurrentPlayer(), i, j)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public CheckersBoard cloneBoard() {
+		return positions[next()].clone();
+	}
+
+	/**
+	 * Includes a {@link CheckersBoard#clone()}, so subtract {@link #cloneBoard()} to get the cost of the move.
+	 */
+	@Benchmark
+	public CheckersBoard cloneAndProcessMove() throws BadMoveException {
+		int i = next();
+		CheckersBoard board = positions[i].clone();
+		board.processMove(firstMoves[i]);
+		return board;
+	}
+
+	@Benchmark
+	public int hashCodeOfBoard() {
+		return positions[next()].hashCode();
+	}
+
+	@Benchmark
+	public boolean equalsOfBoard() {
+		int i = next();
+		return positions[i].equals(copies[i]);
+	}
+
+	@Benchmark
+	public long setPosition() {
+		scratch.setPosition(texts[next()]);
+		return scratch.zobristKey();
+	}
+
+	@Benchmark
+	public int appendPosition() {
+		text.setLength(0);
+		return positions[next()].appendPosition(text).length();
+	}
+}
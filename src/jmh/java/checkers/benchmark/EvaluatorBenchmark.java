@@ -0,0 +1,64 @@
+package checkers.benchmark;
+
+import checkers.CheckersBoard;
+import checkers.eval.DefaultEvaluator;
+import checkers.eval.PositionBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@link DefaultEvaluator} per position, one board at a time and
+ * as a {@link PositionBatch} of every position of {@link BenchmarkPositions}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+	private static final int POSITIONS = 3 * BenchmarkPositions.POSITIONS_PER_PHASE;
+
+	private final DefaultEvaluator evaluator = new DefaultEvaluator();
+	private final CheckersBoard[] positions = new CheckersBoard[POSITIONS];
+	private final PositionBatch batch = new PositionBatch(POSITIONS);
+	private final int[] scores = new int[POSITIONS];
+
+	@Setup
+	public void setUp() {
+		int i = 0;
+		for (BenchmarkPositions.Phase phase : BenchmarkPositions.Phase.values()) {
+			for (CheckersBoard board : BenchmarkPositions.positions(phase)) {
+				positions[i++] = board;
+				batch.add(board);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POSITIONS)
+	public int[] oneAtATime() {
+		for (int i = 0; i < POSITIONS; i++) {
+			scores[i] = evaluator.evaluate(positions[i]);
+		}
+		return scores;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POSITIONS)
+	public int[] batch() {
+		evaluator.evaluate(batch, scores);
+		return scores;
+	}
+}
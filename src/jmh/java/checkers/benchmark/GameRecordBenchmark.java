@@ -0,0 +1,91 @@
+package checkers.benchmark;
+
+import checkers.CheckersBoard;
+import checkers.GameListener;
+import checkers.PackedMove;
+import checkers.record.GameRecord;
+import checkers.record.GameRecordReader;
+import checkers.record.GameRecordWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a fixed corpus of random games in memory, so that the
+ * scores are games per second of the format itself, without the disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRecordBenchmark {
+	private static final int GAMES = 1000;
+	private static final int MAX_PLIES = 300;
+
+	private GameRecord[] games;
+	private byte[] recorded;
+
+	@Setup
+	public void setUp() throws IOException {
+		Random random = new Random(20200901L);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		int[] gameMoves = new int[MAX_PLIES];
+		games = new GameRecord[GAMES];
+		for (int game = 0; game < GAMES; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			int plies = 0;
+			int count = board.legalMoves(moves);
+			while (count > 0 && plies < MAX_PLIES) {
+				gameMoves[plies] = moves[random.nextInt(count)];
+				board.makeMove(gameMoves[plies++]);
+				count = board.legalMoves(moves);
+			}
+			games[game] = count == 0//
+					? new GameRecord(Arrays.copyOf(gameMoves, plies), Optional.of(board.getCurrentPlayer()), GameListener.GameEndReason.NO_MOVES_LEFT)//
+					: new GameRecord(Arrays.copyOf(gameMoves, plies), Optional.empty(), GameListener.GameEndReason.MOVE_LIMIT);
+		}
+		recorded = writeGames().toByteArray();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public ByteArrayOutputStream writeGames() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(recorded == null ? 1 << 16 : recorded.length);
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			for (GameRecord game : games) {
+				writer.write(game);
+			}
+		}
+		return bytes;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	public int readGames() throws IOException {
+		int moves = 0;
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(recorded))) {
+			for (GameRecord game = reader.read(); game != null; game = reader.read()) {
+				moves += game.getMoveCount();
+			}
+		}
+		return moves;
+	}
+}
@@ -0,0 +1,37 @@
+package checkers.benchmark;
+
+import checkers.CheckersBoard;
+import checkers.CheckersPlayer;
+import checkers.GameListener;
+import checkers.bot.gray.GrayRandomBot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole headless game between two {@link GrayRandomBot}s, as played in a tournament.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomGameBenchmark {
+	private final CheckersPlayer black = new GrayRandomBot();
+	private final CheckersPlayer red = new GrayRandomBot();
+
+	@Benchmark
+	public Optional<CheckersPlayer> randomGame() {
+		return CheckersBoard.initBoard().play(black, red, GameListener.NO_OP);
+	}
+}
@@ -0,0 +1,161 @@
+package checkers;
+
+/**
+ * Helpers for the bitboard representation used by {@link CheckersBoard}.
+ * <p>
+ * The 32 playable squares are numbered row by row, so the square at
+ * ({@code row}, {@code col}) has the index {@code row * 4 + col / 2} and is
+ * represented by the bit {@code 1 << index} of an {@code int} mask. On even
+ * rows the playable squares are the odd columns, and on odd rows they are the
+ * even columns.
+ * <p>
+ * The direction methods shift every square of a mask one step at once. Squares
+ * that would fall off the board are dropped. For a single square, {@link #neighbor(int, int)}
+ * and {@link #jump(int, int)} look the step up in a table instead.
+ */
+public final class CheckersBitboard {
+	public static final int SQUARES = 32;
+
+	public static final int EVEN_ROWS = 0x0F0F0F0F;
+	public static final int ODD_ROWS = 0xF0F0F0F0;
+	public static final int LEFT_EDGE = 0x10101010;
+	public static final int RIGHT_EDGE = 0x08080808;
+	public static final int TOP_ROW = 0x0000000F;
+	public static final int BOTTOM_ROW = 0xF0000000;
+
+	/** Towards row 0 and column 0. */
+	public static final int UP_LEFT = 0;
+	/** Towards row 0 and column 7. */
+	public static final int UP_RIGHT = 1;
+	/** Towards row 7 and column 0. */
+	public static final int DOWN_LEFT = 2;
+	/** Towards row 7 and column 7. */
+	public static final int DOWN_RIGHT = 3;
+	public static final int DIRECTIONS = 4;
+
+	// indexed by direction * SQUARES + square: the squares, -1 off the board, and their bits, 0 off the board
+	private static final int[] NEIGHBORS = new int[DIRECTIONS * SQUARES];
+	private static final int[] JUMPS = new int[DIRECTIONS * SQUARES];
+	private static final int[] NEIGHBOR_BITS = new int[DIRECTIONS * SQUARES];
+	private static final int[] JUMP_BITS = new int[DIRECTIONS * SQUARES];
+
+	static {
+		for (int direction = 0; direction < DIRECTIONS; direction++) {
+			int rowStep = direction < DOWN_LEFT ? -1 : 1;
+			int colStep = (direction & 1) == 0 ? -1 : 1;
+			for (int square = 0; square < SQUARES; square++) {
+				int row = row(square);
+				int col = col(square);
+				int index = direction * SQUARES + square;
+				NEIGHBORS[index] = isPlayable(row + rowStep, col + colStep) ? square(row + rowStep, col + colStep) : -1;
+				JUMPS[index] = isPlayable(row + 2 * rowStep, col + 2 * colStep) ? square(row + 2 * rowStep, col + 2 * colStep) : -1;
+				NEIGHBOR_BITS[index] = NEIGHBORS[index] < 0 ? 0 : 1 << NEIGHBORS[index];
+				JUMP_BITS[index] = JUMPS[index] < 0 ? 0 : 1 << JUMPS[index];
+			}
+		}
+	}
+
+	private CheckersBitboard() {
+	}
+
+	public static int square(int row, int col) {
+		return (row << 2) | (col >> 1);
+	}
+
+	public static int bit(int row, int col) {
+		return 1 << square(row, col);
+	}
+
+	public static int row(int square) {
+		return square >> 2;
+	}
+
+	public static int col(int square) {
+		return ((square & 3) << 1) | (~(square >> 2) & 1);
+	}
+
+	public static boolean isPlayable(int row, int col) {
+		return row >= 0 && row < 8 && col >= 0 && col < 8 && ((row + col) & 1) == 1;
+	}
+
+	/**
+	 * @return The square next to {@code square} in {@code direction}, or -1 if it is off the board.
+	 */
+	public static int neighbor(int square, int direction) {
+		return NEIGHBORS[direction * SQUARES + square];
+	}
+
+	/**
+	 * @return The square two steps from {@code square} in {@code direction}, where a jump lands, or -1 if it is off the board.
+	 */
+	public static int jump(int square, int direction) {
+		return JUMPS[direction * SQUARES + square];
+	}
+
+	/**
+	 * @return The bit of {@link #neighbor(int, int)}, or 0 if it is off the board, so that it can be tested against a mask without a bounds check.
+	 */
+	public static int neighborBit(int square, int direction) {
+		return NEIGHBOR_BITS[direction * SQUARES + square];
+	}
+
+	/**
+	 * @return The bit of {@link #jump(int, int)}, or 0 if it is off the board.
+	 */
+	public static int jumpBit(int square, int direction) {
+		return JUMP_BITS[direction * SQUARES + square];
+	}
+
+	/**
+	 * @return Whether {@code direction} leads towards row 0.
+	 */
+	public static boolean isUp(int direction) {
+		return direction < DOWN_LEFT;
+	}
+
+	public static int upRight(int mask) {
+		return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+	}
+
+	public static int upLeft(int mask) {
+		return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+	}
+
+	public static int downRight(int mask) {
+		return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5) | ((mask & ODD_ROWS) << 4);
+	}
+
+	public static int downLeft(int mask) {
+		return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+	}
+
+	/**
+	 * @return The pieces of {@code own} that may move towards row 0.
+	 */
+	public static int upMovers(CheckersBoard.Player player, int own, int kings) {
+		return player == CheckersBoard.Player.BLACK ? own : own & kings;
+	}
+
+	/**
+	 * @return The pieces of {@code own} that may move towards row 7.
+	 */
+	public static int downMovers(CheckersBoard.Player player, int own, int kings) {
+		return player == CheckersBoard.Player.RED ? own : own & kings;
+	}
+
+	/**
+	 * @return The squares of {@code movers} that can step in any direction into {@code empty}.
+	 */
+	public static int moveSources(int upMovers, int downMovers, int empty) {
+		return (downMovers & (upLeft(empty) | upRight(empty)))//
+				| (upMovers & (downLeft(empty) | downRight(empty)));
+	}
+
+	/**
+	 * @return The squares of {@code movers} that can jump over {@code enemy} in any direction into {@code empty}.
+	 */
+	public static int jumpSources(int upMovers, int downMovers, int enemy, int empty) {
+		return (downMovers & (upLeft(upLeft(empty) & enemy) | upRight(upRight(empty) & enemy)))//
+				| (upMovers & (downLeft(downLeft(empty) & enemy) | downRight(downRight(empty) & enemy)));
+	}
+}
@@ -6,9 +6,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 public class CheckersBoard {
@@ -18,14 +18,38 @@ public class CheckersBoard {
 	public static final char BLACK_CROWNED = 'B';
 	public static final char INVALID = '*';
 	public static final char EMPTY = ' ';
+	public static final int MAX_PIECES = 12;
+	public static final int POSITION_LENGTH = 2 + CheckersBitboard.SQUARES;
+
+	private static final char POSITION_EMPTY = '.';
 
 	protected char[][] board;
 	protected Player currentPlayer;
 
+	// the same position as board, one bit per playable square (see CheckersBitboard)
+	protected int blackPieces;
+	protected int redPieces;
+	protected int kings;
+
 	protected boolean captureLock;
 	protected int captureStartRow;
 	protected int captureStartCol;
 
+	// Zobrist hash of the pieces, the side to move and the capture lock (see Zobrist)
+	protected long zobristKey;
+
+	// one record per move played with makeMove, packed as described by the UNDO_* constants
+	private long[] undoStack;
+	private int undoCount;
+
+	private static final long UNDO_MOVE = 0xFFFF;
+	private static final long UNDO_CAPTURED_KING = 1L << 16;
+	private static final long UNDO_PROMOTION = 1L << 17;
+	private static final long UNDO_CAPTURE_LOCK = 1L << 18;
+	private static final int UNDO_CAPTURE_ROW_SHIFT = 19;
+	private static final int UNDO_CAPTURE_COL_SHIFT = 22;
+	private static final long UNDO_RED_TO_MOVE = 1L << 25;
+
 	protected CheckersBoard() {
 		board = new char[8][8];
 		captureLock = false;
@@ -66,15 +90,23 @@ public class CheckersBoard {
 		return captureStartCol;
 	}
 
+	/**
+	 * Copies the position. The moves played with {@link #makeMove(int)} are not
+	 * copied, so they cannot be taken back on the clone.
+	 */
 	public CheckersBoard clone() {
 		CheckersBoard clone = new CheckersBoard();
 		for (int i=0;i<8;i++) {
 			System.arraycopy(this.board[i], 0, clone.board[i],0, this.board[i].length);
 		}
+		clone.blackPieces = this.blackPieces;
+		clone.redPieces = this.redPieces;
+		clone.kings = this.kings;
 		clone.currentPlayer = this.currentPlayer;
 		clone.captureLock = this.captureLock;
 		clone.captureStartCol = this.captureStartCol;
 		clone.captureStartRow = this.captureStartRow;
+		clone.zobristKey = this.zobristKey;
 		return clone;
 	}
 
@@ -85,14 +117,26 @@ public class CheckersBoard {
 		if (o == null || getClass() != o.getClass())
 			return false;
 		CheckersBoard that = (CheckersBoard) o;
-		return IntStream.range(0, board.length).allMatch(i -> Arrays.equals(board[i], that.board[i])) && currentPlayer == that.currentPlayer;
+		return zobristKey == that.zobristKey//
+				&& blackPieces == that.blackPieces//
+				&& redPieces == that.redPieces//
+				&& kings == that.kings//
+				&& currentPlayer == that.currentPlayer//
+				&& captureLock == that.captureLock//
+				&& (!captureLock || (captureStartRow == that.captureStartRow && captureStartCol == that.captureStartCol));
 	}
 
 	@Override
 	public int hashCode() {
-		int result = Objects.hash(currentPlayer);
-		result = 31 * result + Arrays.hashCode(board);
-		return result;
+		return (int) (zobristKey ^ (zobristKey >>> 32));
+	}
+
+	/**
+	 * @return The 64-bit Zobrist hash of the position, including the side to
+	 * move and the capture lock. It is updated incrementally with every move.
+	 */
+	public long zobristKey() {
+		return zobristKey;
 	}
 
 	public static CheckersBoard initBoard() {
@@ -120,9 +164,222 @@ public class CheckersBoard {
 			// otherwise, we end up with a vertically-striped board
 			invalidSquare = !invalidSquare;
 		}
+		startingBoard.rebuildBitboards();
 		return startingBoard;
 	}
 
+	/**
+	 * Recomputes the bitboards and the Zobrist key from {@link #board}, {@link #currentPlayer}
+	 * and the capture lock. Subclasses that write into those fields directly must call this afterwards.
+	 */
+	protected void rebuildBitboards() {
+		blackPieces = 0;
+		redPieces = 0;
+		kings = 0;
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			char piece = board[CheckersBitboard.row(square)][CheckersBitboard.col(square)];
+			int bit = 1 << square;
+			if (piece == BLACK_PLAIN || piece == BLACK_CROWNED) {
+				blackPieces |= bit;
+			} else if (piece == RED_PLAIN || piece == RED_CROWNED) {
+				redPieces |= bit;
+			}
+			if (piece == BLACK_CROWNED || piece == RED_CROWNED) {
+				kings |= bit;
+			}
+		}
+		int lockSquare = captureLock ? CheckersBitboard.square(captureStartRow, captureStartCol) : -1;
+		zobristKey = Zobrist.key(blackPieces, redPieces, kings, currentPlayer, lockSquare);
+	}
+
+	/**
+	 * @return A board with the given {@link CheckersBitboard} masks and player to move, with no capture pending.
+	 * @throws IllegalArgumentException If the position is impossible, as described in {@link #setPosition(int, int, int, Player)}.
+	 */
+	public static CheckersBoard of(int blackPieces, int redPieces, int kings, Player toMove) {
+		CheckersBoard board = new CheckersBoard();
+		board.setPosition(blackPieces, redPieces, kings, toMove);
+		return board;
+	}
+
+	/**
+	 * @return A board with the position written by {@link #position()}.
+	 * @throws IllegalArgumentException If the text is not a position, or the position is impossible.
+	 */
+	public static CheckersBoard of(CharSequence position) {
+		CheckersBoard board = new CheckersBoard();
+		board.setPosition(position);
+		return board;
+	}
+
+	/**
+	 * Replaces the position with the given {@link CheckersBitboard} masks, with
+	 * no capture pending. The moves played before cannot be taken back afterwards.
+	 * @throws IllegalArgumentException If a square holds pieces of both players,
+	 * a king is on an empty square, an uncrowned piece is on its crowning row, or a
+	 * player has more than 12 pieces.
+	 */
+	public void setPosition(int blackPieces, int redPieces, int kings, Player toMove) {
+		if (toMove == null) {
+			throw new IllegalArgumentException("The position needs a player to move!");
+		}
+		if ((blackPieces & redPieces) != 0) {
+			throw new IllegalArgumentException("A square holds pieces of both players!");
+		}
+		if ((kings & ~(blackPieces | redPieces)) != 0) {
+			throw new IllegalArgumentException("A king is on an empty square!");
+		}
+		if ((blackPieces & ~kings & CheckersBitboard.TOP_ROW) != 0 || (redPieces & ~kings & CheckersBitboard.BOTTOM_ROW) != 0) {
+			throw new IllegalArgumentException("An uncrowned piece is on its crowning row!");
+		}
+		if (Integer.bitCount(blackPieces) > MAX_PIECES || Integer.bitCount(redPieces) > MAX_PIECES) {
+			throw new IllegalArgumentException("A player has more than " + MAX_PIECES + " pieces!");
+		}
+		for (int i = 0; i < 8; i++) {
+			for (int j = 0; j < 8; j++) {
+				board[i][j] = CheckersBitboard.isPlayable(i, j) ? EMPTY : INVALID;
+			}
+		}
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			int bit = 1 << square;
+			boolean king = (kings & bit) != 0;
+			char piece = (blackPieces & bit) != 0 ? (king ? BLACK_CROWNED : BLACK_PLAIN)//
+					: (redPieces & bit) != 0 ? (king ? RED_CROWNED : RED_PLAIN) : EMPTY;
+			board[CheckersBitboard.row(square)][CheckersBitboard.col(square)] = piece;
+		}
+		this.blackPieces = blackPieces;
+		this.redPieces = redPieces;
+		this.kings = kings;
+		currentPlayer = toMove;
+		captureLock = false;
+		undoCount = 0;
+		zobristKey = Zobrist.key(blackPieces, redPieces, kings, toMove, -1);
+	}
+
+	/**
+	 * Replaces the position with the one written by {@link #position()}, without allocating.
+	 * @throws IllegalArgumentException If the text is not a position, or the position is impossible.
+	 */
+	public void setPosition(CharSequence position) {
+		if (position.length() != POSITION_LENGTH || position.charAt(1) != ':') {
+			throw new IllegalArgumentException("A position has the player to move, ':' and " + CheckersBitboard.SQUARES + " squares, not " + position + "!");
+		}
+		Player toMove;
+		if (position.charAt(0) == BLACK_CROWNED) {
+			toMove = Player.BLACK;
+		} else if (position.charAt(0) == RED_CROWNED) {
+			toMove = Player.RED;
+		} else {
+			throw new IllegalArgumentException("Invalid player to move in the position " + position + "!");
+		}
+		int black = 0;
+		int red = 0;
+		int crowned = 0;
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			int bit = 1 << square;
+			switch (position.charAt(2 + square)) {
+			case BLACK_CROWNED:
+				crowned |= bit;
+				// fall through
+			case BLACK_PLAIN:
+				black |= bit;
+				break;
+			case RED_CROWNED:
+				crowned |= bit;
+				// fall through
+			case RED_PLAIN:
+				red |= bit;
+				break;
+			case POSITION_EMPTY:
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid square " + square + " in the position " + position + "!");
+			}
+		}
+		setPosition(black, red, crowned, toMove);
+	}
+
+	/**
+	 * @return The position as {@link #POSITION_LENGTH} characters: {@code B} or {@code R}
+	 * for the player to move, {@code :}, then the pieces of the {@link CheckersBitboard}
+	 * squares in order, as in {@link #board}, with {@code .} for the empty ones. The
+	 * starting position is {@code B:rrrrrrrrrrrr........bbbbbbbbbbbb}. A capture in
+	 * progress is not written.
+	 */
+	public String position() {
+		return appendPosition(new StringBuilder(POSITION_LENGTH)).toString();
+	}
+
+	/**
+	 * Appends {@link #position()} to {@code text}, so that many positions can be written without a string each.
+	 * @return {@code text}.
+	 */
+	public StringBuilder appendPosition(StringBuilder text) {
+		text.append(currentPlayer == Player.BLACK ? BLACK_CROWNED : RED_CROWNED).append(':');
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			int bit = 1 << square;
+			if ((blackPieces & bit) != 0) {
+				text.append((kings & bit) != 0 ? BLACK_CROWNED : BLACK_PLAIN);
+			} else if ((redPieces & bit) != 0) {
+				text.append((kings & bit) != 0 ? RED_CROWNED : RED_PLAIN);
+			} else {
+				text.append(POSITION_EMPTY);
+			}
+		}
+		return text;
+	}
+
+	private int pieceType(int bit) {
+		int type = (blackPieces & bit) != 0 ? Zobrist.BLACK_MAN : Zobrist.RED_MAN;
+		return (kings & bit) != 0 ? type + 1 : type;
+	}
+
+	private void setCaptureLock(boolean lock, int row, int col) {
+		if (captureLock) {
+			zobristKey ^= Zobrist.captureLock(CheckersBitboard.square(captureStartRow, captureStartCol));
+		}
+		captureLock = lock;
+		captureStartRow = row;
+		captureStartCol = col;
+		if (captureLock) {
+			zobristKey ^= Zobrist.captureLock(CheckersBitboard.square(captureStartRow, captureStartCol));
+		}
+	}
+
+	protected int piecesOf(Player player) {
+		return player == Player.BLACK ? blackPieces : redPieces;
+	}
+
+	/**
+	 * @return The squares holding a piece of {@code player}, as a {@link CheckersBitboard} mask.
+	 */
+	public int getPieces(Player player) {
+		return piecesOf(player);
+	}
+
+	/**
+	 * @return The squares holding a crowned piece of either player, as a {@link CheckersBitboard} mask.
+	 */
+	public int getKings() {
+		return kings;
+	}
+
+	protected int emptySquares() {
+		return ~(blackPieces | redPieces);
+	}
+
+	/**
+	 * @return The squares holding a piece of {@code player} that can capture, ignoring the capture lock.
+	 */
+	protected int capturingPieces(Player player) {
+		int own = piecesOf(player);
+		return CheckersBitboard.jumpSources(//
+				CheckersBitboard.upMovers(player, own, kings),//
+				CheckersBitboard.downMovers(player, own, kings),//
+				piecesOf(otherPlayer(player)),//
+				emptySquares());
+	}
+
 	public String representation(char internal) {
 		if (internal == '*') {
 			return "\u2588\u2588\u2588";
@@ -159,17 +416,26 @@ public class CheckersBoard {
 		System.out.println("The current player is: " + currentPlayer + " " + countPiecesOfPlayer(currentPlayer) + " pcs vs. " + countPiecesOfPlayer(otherPlayer()) + " pcs.");
 	}
 
+	/**
+	 * @return The number of pieces of {@code player}, crowned or not. The bitboards
+	 * are kept up to date by every move, so this costs a single population count.
+	 */
 	public int countPiecesOfPlayer(Player player) {
-		int numPieces = 0;
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				if ((Player.RED.equals(player) && board[i][j] == 'r' || board[i][j] == 'R')//
-						|| (Player.BLACK.equals(player) && board[i][j] == 'b' || board[i][j] == 'B')) {
-					numPieces++;
-				}
-			}
-		}
-		return numPieces;
+		return Integer.bitCount(piecesOf(player));
+	}
+
+	/**
+	 * @return The number of non-crowned pieces of {@code player}.
+	 */
+	public int countMen(Player player) {
+		return Integer.bitCount(piecesOf(player) & ~kings);
+	}
+
+	/**
+	 * @return The number of crowned pieces of {@code player}.
+	 */
+	public int countKings(Player player) {
+		return Integer.bitCount(piecesOf(player) & kings);
 	}
 
 	private boolean isEnemyPiece(int i, int j) {
@@ -177,8 +443,7 @@ public class CheckersBoard {
 	}
 
 	private boolean isEnemyPiece(Player player, int i, int j) {
-		return (player == Player.BLACK && Character.toLowerCase(board[i][j]) == 'r')//
-				|| (player == Player.RED && Character.toLowerCase(board[i][j]) == 'b');
+		return CheckersBitboard.isPlayable(i, j) && (piecesOf(otherPlayer(player)) & CheckersBitboard.bit(i, j)) != 0;
 	}
 
 	public boolean isMovePossible() {
@@ -186,46 +451,94 @@ public class CheckersBoard {
 	}
 
 	public boolean isMovePossible(Player player) {
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				Optional<Player> ownerOfPosition = ownerOf(i,j);
-				if (ownerOfPosition.isEmpty() || ownerOfPosition.get() != player) {
-					continue;
-				}
-				if (isDownRightMovePossible(i, j)//
-						|| isUpLeftMovePossible(i, j)//
-						|| isDownLeftMovePossible(i, j)//
-						|| isUpRightMovePossible(i, j)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		int own = piecesOf(player);
+		return CheckersBitboard.moveSources(//
+				CheckersBitboard.upMovers(player, own, kings),//
+				CheckersBitboard.downMovers(player, own, kings),//
+				emptySquares()) != 0;
 	}
 
 	public List<CheckersMove> possibleMoves(Player player) {
-		List<CheckersMove> possibleMoves = new ArrayList<>();
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				Optional<Player> ownerOfPosition = ownerOf(i,j);
-				if (ownerOfPosition.isEmpty() || ownerOfPosition.get() != player) {
-					continue;
-				}
-				if (isDownRightMovePossible(i, j)) {
-					possibleMoves.add(CheckersMove.builder().fromPosition(i,j).toPosition(i+1, j+1).build());
-				}
-				if (isUpLeftMovePossible(i, j)) {
-					possibleMoves.add(CheckersMove.builder().fromPosition(i,j).toPosition(i-1, j-1).build());
-				}
-				if (isDownLeftMovePossible(i, j)) {
-					possibleMoves.add(CheckersMove.builder().fromPosition(i,j).toPosition(i+1, j-1).build());
-				}
-				if (isUpRightMovePossible(i, j)) {
-					possibleMoves.add(CheckersMove.builder().fromPosition(i,j).toPosition(i-1, j+1).build());
-				}
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		return toMoveList(moves, possibleMoves(player, moves));
+	}
+
+	/**
+	 * Writes the normal moves of {@code player} into {@code moves}, packed as described in {@link PackedMove}.
+	 * @param moves A buffer of at least {@link PackedMove#MAX_MOVES} elements.
+	 * @return The number of moves written.
+	 */
+	public int possibleMoves(Player player, int[] moves) {
+		int own = piecesOf(player);
+		int upMovers = CheckersBitboard.upMovers(player, own, kings);
+		int downMovers = CheckersBitboard.downMovers(player, own, kings);
+		int empty = emptySquares();
+		// each mask holds the pieces that can move in that direction
+		int downRight = downMovers & CheckersBitboard.upLeft(empty);
+		int upLeft = upMovers & CheckersBitboard.downRight(empty);
+		int downLeft = downMovers & CheckersBitboard.upRight(empty);
+		int upRight = upMovers & CheckersBitboard.downLeft(empty);
+		return collectMoves(downRight, upLeft, downLeft, upRight, false, moves);
+	}
+
+	public int possibleMoves(int[] moves) {
+		return possibleMoves(currentPlayer, moves);
+	}
+
+	/**
+	 * Writes the moves the current player may legally play into {@code moves}:
+	 * the captures if there are any, and the normal moves otherwise.
+	 * @param moves A buffer of at least {@link PackedMove#MAX_MOVES} elements.
+	 * @return The number of moves written.
+	 */
+	public int legalMoves(int[] moves) {
+		int count = possibleCaptures(currentPlayer, moves);
+		if (count > 0 || captureLock) {
+			return count;
+		}
+		return possibleMoves(currentPlayer, moves);
+	}
+
+	/**
+	 * Packs the moves of the given direction masks, square by square and in
+	 * the order down-right, up-left, down-left, up-right.
+	 */
+	private static int collectMoves(int downRight, int upLeft, int downLeft, int upRight, boolean capture, int[] moves) {
+		int count = 0;
+		int sources = downRight | upLeft | downLeft | upRight;
+		while (sources != 0) {
+			int bit = sources & -sources;
+			sources ^= bit;
+			int from = Integer.numberOfTrailingZeros(bit);
+			if ((downRight & bit) != 0) {
+				moves[count++] = pack(from, CheckersBitboard.DOWN_RIGHT, capture);
+			}
+			if ((upLeft & bit) != 0) {
+				moves[count++] = pack(from, CheckersBitboard.UP_LEFT, capture);
+			}
+			if ((downLeft & bit) != 0) {
+				moves[count++] = pack(from, CheckersBitboard.DOWN_LEFT, capture);
+			}
+			if ((upRight & bit) != 0) {
+				moves[count++] = pack(from, CheckersBitboard.UP_RIGHT, capture);
 			}
 		}
-		return possibleMoves;
+		return count;
+	}
+
+	private static int pack(int from, int direction, boolean capture) {
+		if (capture) {
+			return PackedMove.capture(from, CheckersBitboard.jump(from, direction), CheckersBitboard.neighbor(from, direction));
+		}
+		return PackedMove.move(from, CheckersBitboard.neighbor(from, direction));
+	}
+
+	private static List<CheckersMove> toMoveList(int[] moves, int count) {
+		List<CheckersMove> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(PackedMove.toCheckersMove(moves[i]));
+		}
+		return list;
 	}
 
 	public List<CheckersMove> possibleMoves() {
@@ -233,27 +546,64 @@ public class CheckersBoard {
 	}
 
 	public boolean isUpRightMovePossible(int i, int j) {
-		return i > 0 && j < 7 && board[i - 1][j + 1] == EMPTY
-				// we exclude the non-crowned piece that cannot move in this direction
-				&& board[i][j] != RED_PLAIN;
+		return isStepPossible(i, j, CheckersBitboard.UP_RIGHT);
 	}
 
 	public boolean isDownLeftMovePossible(int i, int j) {
-		return i < 7 && j > 0 && board[i + 1][j - 1] == EMPTY
-				// we exclude the non-crowned piece that cannot move in this direction
-				&& board[i][j] != BLACK_PLAIN;
+		return isStepPossible(i, j, CheckersBitboard.DOWN_LEFT);
 	}
 
 	public boolean isUpLeftMovePossible(int i, int j) {
-		return i > 0 && j > 0 && board[i - 1][j - 1] == EMPTY
-				// we exclude the non-crowned piece that cannot move in this direction
-				&& board[i][j] != RED_PLAIN;
+		return isStepPossible(i, j, CheckersBitboard.UP_LEFT);
 	}
 
 	public boolean isDownRightMovePossible(int i, int j) {
-		return i < 7 && j < 7 && board[i + 1][j + 1] == EMPTY
-				// we exclude the non-crowned piece that cannot move in this direction
-				&& board[i][j] != BLACK_PLAIN;
+		return isStepPossible(i, j, CheckersBitboard.DOWN_RIGHT);
+	}
+
+	/**
+	 * @return Whether the piece on ({@code i}, {@code j}) can step into an empty square in
+	 * {@code direction}. An empty square is treated as a piece that may go both ways.
+	 */
+	private boolean isStepPossible(int i, int j, int direction) {
+		if (!CheckersBitboard.isPlayable(i, j)) {
+			return false;
+		}
+		int square = CheckersBitboard.square(i, j);
+		return (emptySquares() & CheckersBitboard.neighborBit(square, direction)) != 0 && canGo(square, direction);
+	}
+
+	/**
+	 * @return Whether the piece on ({@code i}, {@code j}) can jump over a piece of the opponent of {@code player} in {@code direction}.
+	 */
+	private boolean isJumpPossible(Player player, int i, int j, int direction) {
+		if (!CheckersBitboard.isPlayable(i, j)) {
+			return false;
+		}
+		int square = CheckersBitboard.square(i, j);
+		return (piecesOf(otherPlayer(player)) & CheckersBitboard.neighborBit(square, direction)) != 0//
+				&& (emptySquares() & CheckersBitboard.jumpBit(square, direction)) != 0//
+				&& canGo(square, direction);
+	}
+
+	/**
+	 * @return Whether {@code square} does not hold a non-crowned piece that cannot move in {@code direction}.
+	 */
+	private boolean canGo(int square, int direction) {
+		int men = (CheckersBitboard.isUp(direction) ? redPieces : blackPieces) & ~kings;
+		return (men & (1 << square)) == 0;
+	}
+
+	/**
+	 * @return The first direction the piece on {@code square} may go in, in the order of {@link CheckersBitboard#UP_LEFT} to
+	 * {@link CheckersBitboard#DOWN_RIGHT}, where the up directions come first.
+	 */
+	private int firstDirection(int square) {
+		return (redPieces & ~kings & (1 << square)) != 0 ? CheckersBitboard.DOWN_LEFT : CheckersBitboard.UP_LEFT;
+	}
+
+	private int lastDirection(int square) {
+		return (blackPieces & ~kings & (1 << square)) != 0 ? CheckersBitboard.UP_RIGHT : CheckersBitboard.DOWN_RIGHT;
 	}
 
 	public List<CheckersMove> possibleCaptures() {
@@ -261,76 +611,103 @@ public class CheckersBoard {
 	}
 
 	public List<CheckersMove> possibleCaptures(Player player) {
-		List<CheckersMove> captures = new ArrayList<>();
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				Optional<Player> ownerOfPosition = ownerOf(i,j);
-				if (ownerOfPosition.isEmpty() || ownerOfPosition.get() != player) {
-					continue;
-				}
-				if (captureLock && (i != captureStartRow || j != captureStartCol)) {
-					continue;
-				}
-				if (isDownRightCapturePossible(player, i, j)) {
-					captures.add(CheckersMove.builder().fromPosition(i,j).toPosition(i+2, j+2).build());
-				}
-				if (isUpLeftCapturePossible(player, i, j)) {
-					captures.add(CheckersMove.builder().fromPosition(i,j).toPosition(i-2, j-2).build());
-				}
-				if (isDownLeftCapturePossible(player, i, j)) {
-					captures.add(CheckersMove.builder().fromPosition(i,j).toPosition(i+2, j-2).build());
-				}
-				if (isUpRightCapturePossible(player, i, j)) {
-					captures.add(CheckersMove.builder().fromPosition(i,j).toPosition(i-2, j+2).build());
-				}
-			}
+		int[] captures = new int[PackedMove.MAX_MOVES];
+		return toMoveList(captures, possibleCaptures(player, captures));
+	}
+
+	public int possibleCaptures(int[] captures) {
+		return possibleCaptures(currentPlayer, captures);
+	}
+
+	/**
+	 * Writes the captures of {@code player} into {@code captures}, packed as described in {@link PackedMove}.
+	 * @param captures A buffer of at least {@link PackedMove#MAX_MOVES} elements.
+	 * @return The number of captures written.
+	 */
+	public int possibleCaptures(Player player, int[] captures) {
+		int own = piecesOf(player);
+		if (captureLock) {
+			own &= CheckersBitboard.bit(captureStartRow, captureStartCol);
 		}
-		return captures;
+		int upMovers = CheckersBitboard.upMovers(player, own, kings);
+		int downMovers = CheckersBitboard.downMovers(player, own, kings);
+		int enemy = piecesOf(otherPlayer(player));
+		int empty = emptySquares();
+		// each mask holds the pieces that can jump in that direction
+		int downRight = downMovers & CheckersBitboard.upLeft(CheckersBitboard.upLeft(empty) & enemy);
+		int upLeft = upMovers & CheckersBitboard.downRight(CheckersBitboard.downRight(empty) & enemy);
+		int downLeft = downMovers & CheckersBitboard.upRight(CheckersBitboard.upRight(empty) & enemy);
+		int upRight = upMovers & CheckersBitboard.downLeft(CheckersBitboard.downLeft(empty) & enemy);
+		return collectMoves(downRight, upLeft, downLeft, upRight, true, captures);
 	}
 
 	public boolean isCapturePossible() {
 		return isCapturePossible(currentPlayer);
 	}
 
+	/**
+	 * @return Whether {@code player} has a capture. During a chained capture, only the capturing piece counts for the current player.
+	 */
 	public boolean isCapturePossible(Player player) {
-		for (int i = 0; i < 8; i++) {
-			for (int j = 0; j < 8; j++) {
-				if (isNotMyPiece(i, j)) {
-					continue;
-				}
-				if (isCapturePossibleAtPosition(player, i, j)) {
-					return true;
-				}
-			}
+		return (capturingPieces(player) & lockedPieces(player)) != 0;
+	}
+
+	public boolean hasLegalAction() {
+		return hasLegalAction(currentPlayer);
+	}
+
+	/**
+	 * @return Whether {@code player} could play any move from this position: a capture, or a normal move if
+	 * no chained capture is in progress. This is cheaper than listing the moves, and allocates nothing.
+	 */
+	public boolean hasLegalAction(Player player) {
+		if (captureLock && player == currentPlayer) {
+			return isCapturePossible(player);
 		}
-		return false;
+		// most positions have a normal move, which is the cheaper check
+		return isMovePossible(player) || capturingPieces(player) != 0;
+	}
+
+	/**
+	 * @return The pieces {@code player} may play, as a mask: the capturing piece during a chained capture, or else every square.
+	 */
+	private int lockedPieces(Player player) {
+		return captureLock && player == currentPlayer ? CheckersBitboard.bit(captureStartRow, captureStartCol) : -1;
 	}
 
 	public boolean isCapturePossibleAtPosition(Player player, int i, int j) {
-		return isDownRightCapturePossible(player, i, j)//
-				|| isUpLeftCapturePossible(player, i, j)//
-				|| isDownLeftCapturePossible(player, i, j)//
-				|| isUpRightCapturePossible(player, i, j);
+		if (!CheckersBitboard.isPlayable(i, j)) {
+			return false;
+		}
+		int square = CheckersBitboard.square(i, j);
+		int enemy = piecesOf(otherPlayer(player));
+		int empty = emptySquares();
+		for (int direction = firstDirection(square), last = lastDirection(square); direction <= last; direction++) {
+			if ((enemy & CheckersBitboard.neighborBit(square, direction)) != 0 && (empty & CheckersBitboard.jumpBit(square, direction)) != 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public boolean isUpRightCapturePossible(Player player, int i, int j) {
-		return i > 1 && j < 6 && isEnemyPiece(player, i - 1, j + 1) && board[i - 2][j + 2] == EMPTY && board[i][j] != RED_PLAIN;
+		return isJumpPossible(player, i, j, CheckersBitboard.UP_RIGHT);
 	}
 
 	public boolean isDownLeftCapturePossible(Player player, int i, int j) {
-		return i < 6 && j > 1 && isEnemyPiece(player, i + 1, j - 1) && board[i + 2][j - 2] == EMPTY && board[i][j] != BLACK_PLAIN;
+		return isJumpPossible(player, i, j, CheckersBitboard.DOWN_LEFT);
 	}
 
 	public boolean isUpLeftCapturePossible(Player player, int i, int j) {
-		return i > 1 && j > 1 && isEnemyPiece(player, i - 1, j - 1) && board[i - 2][j - 2] == EMPTY && board[i][j] != RED_PLAIN;
+		return isJumpPossible(player, i, j, CheckersBitboard.UP_LEFT);
 	}
 
 	public boolean isDownRightCapturePossible(Player player, int i, int j) {
-		return i < 6 && j < 6 && isEnemyPiece(player, i + 1, j + 1) && board[i + 2][j + 2] == EMPTY && board[i][j] != BLACK_PLAIN;
+		return isJumpPossible(player, i, j, CheckersBitboard.DOWN_RIGHT);
 	}
 
 	public boolean isNotMyPiece(int i, int j) {
-		return ownerOf(i, j).map(owner -> owner != currentPlayer).orElse(true);
+		return !CheckersBitboard.isPlayable(i, j) || (piecesOf(currentPlayer) & CheckersBitboard.bit(i, j)) == 0;
 	}
 
 	public Optional<Player> ownerOf(int i, int j) {
@@ -381,9 +758,8 @@ public class CheckersBoard {
 	}
 
 	protected void explodeIfNotCapturingEnemyPiece(CheckersMove capture) throws BadMoveException {
-		CheckersMove.Position midPoint = capture.getMiddlePosition();
-		int middleRow = midPoint.getRow();
-		int middleCol = midPoint.getCol();
+		int middleRow = (capture.getStartRow() + capture.getEndRow()) / 2;
+		int middleCol = (capture.getStartCol() + capture.getEndCol()) / 2;
 		if (!isEnemyPiece(middleRow, middleCol)) {
 			throw new BadMoveException("You can only capture your opponent's pieces!");
 		}
@@ -400,40 +776,233 @@ public class CheckersBoard {
 			if (captureLock) {
 				throw new BadMoveException("You must play the chained capture!");
 			}
-			if (isCapturePossible(currentPlayer)) {
+			if (capturingPieces(currentPlayer) != 0) {
 				throw new BadMoveException("A capture is possible, so you cannot move!");
 			}
-			captureLock = false;
-			performMove(move);
-			switchTurn();
 		} else if (isCaptureMove(move)) {
 			explodeIfNotCapturingEnemyPiece(move);
+		} else {
+			throw new BadMoveException("You can only move 1 space away, or capture 2 spaces away!");
+		}
+		applyMove(PackedMove.of(move));
+	}
+
+	/**
+	 * Same as {@link #processMove(CheckersMove)}, for a move packed as described in {@link PackedMove}.
+	 */
+	public void processMove(int move) throws BadMoveException {
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		int fromBit = 1 << from;
+		int toBit = 1 << to;
+		if ((piecesOf(currentPlayer) & fromBit) == 0) {
+			throw new BadMoveException("You must move YOUR pieces!");
+		}
+		if ((emptySquares() & toBit) == 0) {
+			throw new BadMoveException("You can only move into empty spaces!");
+		}
+		if ((kings & fromBit) == 0 && (currentPlayer == Player.BLACK//
+				? CheckersBitboard.row(to) > CheckersBitboard.row(from)//
+				: CheckersBitboard.row(to) < CheckersBitboard.row(from))) {
+			throw new BadMoveException("You cannot move/capture backwards!");
+		}
+		if (captureLock && from != CheckersBitboard.square(captureStartRow, captureStartCol)) {
+			throw new BadMoveException("You must play the chained capture!");
+		}
+
+		int steps = CheckersBitboard.upRight(fromBit) | CheckersBitboard.upLeft(fromBit)//
+				| CheckersBitboard.downRight(fromBit) | CheckersBitboard.downLeft(fromBit);
+		int jumped = jumpedSquare(fromBit, toBit);
+		if ((steps & toBit) != 0 && move == PackedMove.move(from, to)) {
+			if (captureLock) {
+				throw new BadMoveException("You must play the chained capture!");
+			}
+			if (capturingPieces(currentPlayer) != 0) {
+				throw new BadMoveException("A capture is possible, so you cannot move!");
+			}
+		} else if (jumped != 0 && move == PackedMove.capture(from, to, Integer.numberOfTrailingZeros(jumped))) {
+			if ((piecesOf(otherPlayer()) & jumped) == 0) {
+				throw new BadMoveException("You can only capture your opponent's pieces!");
+			}
+		} else {
+			throw new BadMoveException("You can only move 1 space away, or capture 2 spaces away!");
+		}
+		applyMove(move);
+	}
+
+	/**
+	 * @return The square between {@code fromBit} and {@code toBit} if they are a jump apart, or 0.
+	 */
+	private static int jumpedSquare(int fromBit, int toBit) {
+		int next = CheckersBitboard.upRight(fromBit);
+		if (CheckersBitboard.upRight(next) == toBit) {
+			return next;
+		}
+		next = CheckersBitboard.upLeft(fromBit);
+		if (CheckersBitboard.upLeft(next) == toBit) {
+			return next;
+		}
+		next = CheckersBitboard.downRight(fromBit);
+		if (CheckersBitboard.downRight(next) == toBit) {
+			return next;
+		}
+		next = CheckersBitboard.downLeft(fromBit);
+		if (CheckersBitboard.downLeft(next) == toBit) {
+			return next;
+		}
+		return 0;
+	}
+
+	/**
+	 * Plays a validated move, then locks the capturing piece if it can keep
+	 * capturing, or passes the turn.
+	 */
+	private void applyMove(int move) {
+		if (PackedMove.isCapture(move)) {
 			performCapture(move);
-			if (isCapturePossibleAtPosition(currentPlayer, move.getEndRow(), move.getEndCol())) {
-				captureLock = true;
-				captureStartCol = move.getEndCol();
-				captureStartRow = move.getEndRow();
+			int to = PackedMove.to(move);
+			if ((capturingPieces(currentPlayer) & (1 << to)) != 0) {
+				setCaptureLock(true, CheckersBitboard.row(to), CheckersBitboard.col(to));
 			} else {
 				switchTurn();
-				captureLock = false;
+				setCaptureLock(false, captureStartRow, captureStartCol);
 			}
 		} else {
-			throw new BadMoveException("You can only move 1 space away, or capture 2 spaces away!");
+			setCaptureLock(false, captureStartRow, captureStartCol);
+			performMove(move);
+			switchTurn();
 		}
 
 		crownPiecesOnBoard();
 	}
 
+	/**
+	 * Plays a move without validating it, and remembers how to take it back
+	 * with {@link #unmakeMove()}. This lets a search walk the game tree on a
+	 * single board instead of cloning it for every node.
+	 * @param move A move returned by {@link #legalMoves(int[])}, packed as described in {@link PackedMove}.
+	 */
+	public void makeMove(int move) {
+		if (undoStack == null) {
+			undoStack = new long[64];
+		} else if (undoCount == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+		}
+		int fromBit = 1 << PackedMove.from(move);
+		int toBit = 1 << PackedMove.to(move);
+		long undo = move & UNDO_MOVE;
+		if (PackedMove.isCapture(move) && (kings & (1 << PackedMove.captured(move))) != 0) {
+			undo |= UNDO_CAPTURED_KING;
+		}
+		if (captureLock) {
+			undo |= UNDO_CAPTURE_LOCK;
+		}
+		undo |= (long) captureStartRow << UNDO_CAPTURE_ROW_SHIFT;
+		undo |= (long) captureStartCol << UNDO_CAPTURE_COL_SHIFT;
+		if (currentPlayer == Player.RED) {
+			undo |= UNDO_RED_TO_MOVE;
+		}
+		boolean wasKing = (kings & fromBit) != 0;
+		applyMove(move);
+		if (!wasKing && (kings & toBit) != 0) {
+			undo |= UNDO_PROMOTION;
+		}
+		undoStack[undoCount++] = undo;
+	}
+
+	/**
+	 * Takes back the last move played with {@link #makeMove(int)}.
+	 * @throws IllegalStateException If there is no move to take back.
+	 */
+	public void unmakeMove() {
+		if (undoCount == 0) {
+			throw new IllegalStateException("There is no move to take back!");
+		}
+		long undo = undoStack[--undoCount];
+		int move = (int) (undo & UNDO_MOVE);
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		Player mover = (undo & UNDO_RED_TO_MOVE) != 0 ? Player.RED : Player.BLACK;
+		if (mover != currentPlayer) {
+			switchTurn();
+		}
+		setCaptureLock((undo & UNDO_CAPTURE_LOCK) != 0,//
+				(int) (undo >>> UNDO_CAPTURE_ROW_SHIFT) & 7,//
+				(int) (undo >>> UNDO_CAPTURE_COL_SHIFT) & 7);
+		if ((undo & UNDO_PROMOTION) != 0) {
+			int kingType = pieceType(1 << to);
+			zobristKey ^= Zobrist.piece(kingType, to) ^ Zobrist.piece(kingType - 1, to);
+			kings &= ~(1 << to);
+			board[CheckersBitboard.row(to)][CheckersBitboard.col(to)] = currentPlayer == Player.BLACK ? BLACK_PLAIN : RED_PLAIN;
+		}
+		movePiece(to, from);
+		if (PackedMove.isCapture(move)) {
+			int captured = PackedMove.captured(move);
+			int capturedBit = 1 << captured;
+			boolean capturedKing = (undo & UNDO_CAPTURED_KING) != 0;
+			char piece;
+			if (currentPlayer == Player.BLACK) {
+				redPieces |= capturedBit;
+				piece = capturedKing ? RED_CROWNED : RED_PLAIN;
+			} else {
+				blackPieces |= capturedBit;
+				piece = capturedKing ? BLACK_CROWNED : BLACK_PLAIN;
+			}
+			if (capturedKing) {
+				kings |= capturedBit;
+			}
+			zobristKey ^= Zobrist.piece(pieceType(capturedBit), captured);
+			board[CheckersBitboard.row(captured)][CheckersBitboard.col(captured)] = piece;
+		}
+	}
+
+	/**
+	 * @return The number of moves that {@link #unmakeMove()} can take back.
+	 */
+	public int getUndoDepth() {
+		return undoCount;
+	}
+
 	protected void performMove(CheckersMove move) {
-		board[move.getEndRow()][move.getEndCol()] = board[move.getStartRow()][move.getStartCol()];
-		board[move.getStartRow()][move.getStartCol()] = EMPTY;
+		performMove(PackedMove.of(move));
+	}
+
+	protected void performMove(int move) {
+		movePiece(PackedMove.from(move), PackedMove.to(move));
 	}
 
 	protected void performCapture(CheckersMove capture) {
-		CheckersMove.Position midPoint = capture.getMiddlePosition();
-		board[capture.getEndRow()][capture.getEndCol()] = board[capture.getStartRow()][capture.getStartCol()];
-		board[midPoint.getRow()][midPoint.getCol()] = EMPTY;
-		board[capture.getStartRow()][capture.getStartCol()] = EMPTY;
+		performCapture(PackedMove.of(capture));
+	}
+
+	protected void performCapture(int capture) {
+		int captured = PackedMove.captured(capture);
+		movePiece(PackedMove.from(capture), PackedMove.to(capture));
+		board[CheckersBitboard.row(captured)][CheckersBitboard.col(captured)] = EMPTY;
+		zobristKey ^= Zobrist.piece(pieceType(1 << captured), captured);
+		int remaining = ~(1 << captured);
+		blackPieces &= remaining;
+		redPieces &= remaining;
+		kings &= remaining;
+	}
+
+	private void movePiece(int from, int to) {
+		int fromRow = CheckersBitboard.row(from);
+		int fromCol = CheckersBitboard.col(from);
+		board[CheckersBitboard.row(to)][CheckersBitboard.col(to)] = board[fromRow][fromCol];
+		board[fromRow][fromCol] = EMPTY;
+		int fromBit = 1 << from;
+		int fromTo = fromBit | (1 << to);
+		int type = pieceType(fromBit);
+		zobristKey ^= Zobrist.piece(type, from) ^ Zobrist.piece(type, to);
+		if ((blackPieces & fromBit) != 0) {
+			blackPieces ^= fromTo;
+		} else {
+			redPieces ^= fromTo;
+		}
+		if ((kings & fromBit) != 0) {
+			kings ^= fromTo;
+		}
 	}
 
 	protected boolean isCaptureMove(CheckersMove move) {
@@ -445,58 +1014,99 @@ public class CheckersBoard {
 	}
 
 	public void crownPiecesOnBoard() {
-		for (int j = 0; j < 8; j++) {
-			if (board[7][j] == RED_PLAIN) {
-				board[7][j] = RED_CROWNED;
-			}
-			if (board[0][j] == BLACK_PLAIN) {
-				board[0][j] = BLACK_CROWNED;
-			}
+		int crowned = ((blackPieces & CheckersBitboard.TOP_ROW) | (redPieces & CheckersBitboard.BOTTOM_ROW)) & ~kings;
+		kings |= crowned;
+		while (crowned != 0) {
+			int square = Integer.numberOfTrailingZeros(crowned);
+			crowned &= crowned - 1;
+			int i = CheckersBitboard.row(square);
+			int j = CheckersBitboard.col(square);
+			int kingType = pieceType(1 << square);
+			zobristKey ^= Zobrist.piece(kingType - 1, square) ^ Zobrist.piece(kingType, square);
+			board[i][j] = board[i][j] == RED_PLAIN ? RED_CROWNED : BLACK_CROWNED;
 		}
 	}
 
 	/**
-	 * Executes a Checkers and returns the loser.
+	 * Executes a Checkers and returns the loser, printing the game to the console.
 	 * @param player1 A Checkers-playing agent.
 	 * @param player2 A Checkers-playing agent.
 	 * @return The loser, or {@code Optional.empty()} if there is a tie.
 	 */
 	public Optional<CheckersPlayer> play(CheckersPlayer player1, CheckersPlayer player2) {
+		return play(player1, player2, new ConsoleGameListener());
+	}
+
+	/**
+	 * Executes a Checkers and returns the loser.
+	 * @param player1 A Checkers-playing agent.
+	 * @param player2 A Checkers-playing agent.
+	 * @param listener Notified of the progress of the game; headless games pass {@link GameListener#NO_OP}.
+	 * @return The loser, or {@code Optional.empty()} if there is a tie.
+	 */
+	public Optional<CheckersPlayer> play(CheckersPlayer player1, CheckersPlayer player2, GameListener listener) {
+		return play(player1, player2, listener, new GameClock(TimeControl.UNLIMITED));
+	}
+
+	/**
+	 * Executes a Checkers game under a time control and returns the loser. A player
+	 * that overruns its time, throws an exception or returns no move loses the game.
+	 * @param player1 A Checkers-playing agent.
+	 * @param player2 A Checkers-playing agent.
+	 * @param listener Notified of the progress of the game; headless games pass {@link GameListener#NO_OP}.
+	 * @param clock Times the players, and keeps the time each side used.
+	 * @return The loser, or {@code Optional.empty()} if there is a tie.
+	 */
+	public Optional<CheckersPlayer> play(CheckersPlayer player1, CheckersPlayer player2, GameListener listener, GameClock clock) {
 		Map<Player, CheckersPlayer> playerMap = Map.of(//
 				Player.BLACK, player1,//
 				Player.RED, player2
 		);
-		Runnable displayLossMessage = () -> {
-			System.out.println("Player " + currentPlayer + "/" + playerMap.get(currentPlayer).getClass().getName()+" lost!");
-		};
+		listener.gameStarted(this, player1, player2);
 		int numberOfMovesSinceLastCapture = 0;
 		do {
 			CheckersPlayer playerAgent = playerMap.get(currentPlayer);
 			// check if I lost
-			int numMyPieces = countPiecesOfPlayer(currentPlayer);
-			if (numMyPieces == 0) {
-				displayLossMessage.run();
+			if (countPiecesOfPlayer(currentPlayer) == 0) {
+				listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.NO_PIECES_LEFT);
 				return Optional.of(playerAgent);
 			}
 			// check if I can move
-			if (!isMovePossible() && !isCapturePossible()) {
+			if (!hasLegalAction(currentPlayer)) {
 				if (enemyCannotMove()) {
-					System.out.println("There is a tie!");
+					listener.gameEnded(this, Optional.empty(), GameListener.GameEndReason.BOTH_BLOCKED);
 					return Optional.empty();
 				}
-				displayLossMessage.run();
+				listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.NO_MOVES_LEFT);
 				return Optional.of(playerAgent);
 			}
-			printBoard();
-			CheckersMove moveFromPlayer = playerAgent.play(this.clone());
+			CheckersMove moveFromPlayer;
+			try {
+				moveFromPlayer = clock.ask(playerAgent, this.clone(), currentPlayer);
+			} catch (TimeoutException ex) {
+				listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.TIMEOUT);
+				return Optional.of(playerAgent);
+			} catch (ExecutionException ex) {
+				listener.playerFailed(this, playerAgent, ex.getCause());
+				listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.PLAYER_ERROR);
+				return Optional.of(playerAgent);
+			}
+			if (moveFromPlayer == null) {
+				listener.playerFailed(this, playerAgent, new NullPointerException(currentPlayer + " returned no move!"));
+				listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.PLAYER_ERROR);
+				return Optional.of(playerAgent);
+			}
+			Player mover = currentPlayer;
 			try {
 				processMove(moveFromPlayer);
+				if (currentPlayer != mover) {
+					clock.endTurn(mover);
+				}
+				listener.moveApplied(this, mover, moveFromPlayer);
 			} catch (BadMoveException ex) {
-				if (playerAgent instanceof KeyboardPlayer) {
-					System.err.println(ex.getMessage());
-				} else {
-					System.err.println("Invalid move!! This agent has now lost!");
-					displayLossMessage.run();
+				listener.illegalMove(this, playerAgent, moveFromPlayer, ex);
+				if (!(playerAgent instanceof KeyboardPlayer)) {
+					listener.gameEnded(this, Optional.of(currentPlayer), GameListener.GameEndReason.ILLEGAL_MOVE);
 					return Optional.of(playerAgent);
 				}
 			}
@@ -506,20 +1116,18 @@ public class CheckersBoard {
 				numberOfMovesSinceLastCapture = 0;
 			}
 			if (numberOfMovesSinceLastCapture > 25) {
-				System.out.println("DRAW!");
+				listener.gameEnded(this, Optional.empty(), GameListener.GameEndReason.MOVE_LIMIT);
 				return Optional.empty();
 			}
 		} while (true);
 	}
 
 	protected boolean enemyCannotMove() {
-		// quickly switch over to the other player
-		// to check their possible moves/captures
-		Player otherPlayer = otherPlayer(currentPlayer);
-		return !isMovePossible(otherPlayer) && !isCapturePossible(otherPlayer);
+		return !hasLegalAction(otherPlayer(currentPlayer));
 	}
 
 	public void switchTurn() {
 		currentPlayer = otherPlayer();
+		zobristKey ^= Zobrist.redToMove();
 	}
 }
@@ -2,4 +2,19 @@ package checkers;
 
 public interface CheckersPlayer {
 	CheckersMove play(CheckersBoard board);
+
+	/**
+	 * Releases the threads and memory of a player that holds some, such as a
+	 * multi-threaded bot. Whoever creates a player for a game should call this
+	 * once the game is over.
+	 */
+	static void close(CheckersPlayer player) {
+		if (player instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) player).close();
+			} catch (Exception e) {
+				throw new IllegalStateException("Could not close " + player.getClass().getName(), e);
+			}
+		}
+	}
 }
@@ -0,0 +1,53 @@
+package checkers;
+
+import checkers.exception.BadMoveException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Prints a game to the console: the board after every move, and the outcome.
+ */
+public class ConsoleGameListener implements GameListener {
+	private final Map<CheckersBoard.Player, CheckersPlayer> agents = new EnumMap<>(CheckersBoard.Player.class);
+
+	@Override
+	public void gameStarted(CheckersBoard board, CheckersPlayer black, CheckersPlayer red) {
+		agents.put(CheckersBoard.Player.BLACK, black);
+		agents.put(CheckersBoard.Player.RED, red);
+		board.printBoard();
+	}
+
+	@Override
+	public void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+		board.printBoard();
+	}
+
+	@Override
+	public void illegalMove(CheckersBoard board, CheckersPlayer agent, CheckersMove move, BadMoveException error) {
+		if (agent instanceof KeyboardPlayer) {
+			System.err.println(error.getMessage());
+			board.printBoard();
+		} else {
+			System.err.println("Invalid move!! This agent has now lost!");
+		}
+	}
+
+	@Override
+	public void playerFailed(CheckersBoard board, CheckersPlayer agent, Throwable error) {
+		System.err.println(agent.getClass().getName() + " failed to move: " + error + "!! This agent has now lost!");
+	}
+
+	@Override
+	public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+		if (loser.isPresent()) {
+			System.out.println("Player " + loser.get() + "/" + agents.get(loser.get()).getClass().getName() + " lost"//
+					+ (reason == GameEndReason.TIMEOUT ? " on time!" : "!"));
+		} else if (reason == GameEndReason.BOTH_BLOCKED) {
+			System.out.println("There is a tie!");
+		} else {
+			System.out.println("DRAW!");
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package checkers;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Times the players of one game under a {@link TimeControl}, and keeps the time each side used.
+ * <p>
+ * With an executor, every move is asked for on one of its threads, and a player
+ * that overruns its budget is interrupted and loses at once, so a hung bot cannot
+ * stall the game. Without one, the player is called on the game thread and an
+ * overrun is only noticed once it answers, which suits players that enforce the
+ * budget themselves, such as {@link checkers.server.RemotePlayer}.
+ * <p>
+ * Each step of a chained capture is asked for on its own, from the same clock,
+ * and the increment is added once the turn is over.
+ */
+public class GameClock {
+	private final TimeControl control;
+	private final ExecutorService executor;
+	private final long[] usedNanos = new long[CheckersBoard.Player.values().length];
+	private final long[] remainingNanos = new long[CheckersBoard.Player.values().length];
+
+	/**
+	 * Calls the players on the game thread.
+	 */
+	public GameClock(TimeControl control) {
+		this(control, null);
+	}
+
+	/**
+	 * @param executor Where the players are called, or {@code null} to call them on the game thread.
+	 */
+	public GameClock(TimeControl control, ExecutorService executor) {
+		this.control = control;
+		this.executor = executor;
+		for (CheckersBoard.Player player : CheckersBoard.Player.values()) {
+			remainingNanos[player.ordinal()] = TimeUnit.MILLISECONDS.toNanos(control.getGameMillis());
+		}
+	}
+
+	public TimeControl getTimeControl() {
+		return control;
+	}
+
+	/**
+	 * @return The most time the player may take for its next move, or {@link Long#MAX_VALUE} if there is no limit.
+	 */
+	public long getMoveBudgetMillis(CheckersBoard.Player player) {
+		long budget = moveBudgetNanos(player);
+		return budget == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(budget);
+	}
+
+	public long getUsedMillis(CheckersBoard.Player player) {
+		return TimeUnit.NANOSECONDS.toMillis(usedNanos[player.ordinal()]);
+	}
+
+	/**
+	 * @return The time left on the game clock of the player, or {@link Long#MAX_VALUE} if there is no game clock.
+	 */
+	public long getRemainingMillis(CheckersBoard.Player player) {
+		return control.getGameMillis() == 0 ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(remainingNanos[player.ordinal()]);
+	}
+
+	private long moveBudgetNanos(CheckersBoard.Player player) {
+		long budget = control.getMoveMillis() == 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(control.getMoveMillis());
+		return control.getGameMillis() == 0 ? budget : Math.min(budget, remainingNanos[player.ordinal()]);
+	}
+
+	/**
+	 * Asks a player for its move, or the next step of its capture, and charges its clock.
+	 * @throws TimeoutException If the player overran its budget.
+	 * @throws ExecutionException If the player threw an exception, which is the cause.
+	 */
+	CheckersMove ask(CheckersPlayer agent, CheckersBoard board, CheckersBoard.Player player) throws TimeoutException, ExecutionException {
+		long budget = moveBudgetNanos(player);
+		long start = System.nanoTime();
+		try {
+			CheckersMove move = executor == null || budget == Long.MAX_VALUE ? askOnThisThread(agent, board) : askOnExecutor(agent, board, budget);
+			if (System.nanoTime() - start > budget) {
+				throw new TimeoutException(player + " overran its " + TimeUnit.NANOSECONDS.toMillis(budget) + " ms!");
+			}
+			return move;
+		} catch (ExecutionException e) {
+			// a player that fails because it ran out of time, as a remote one does, lost on time
+			if (System.nanoTime() - start > budget) {
+				throw new TimeoutException(player + " overran its " + TimeUnit.NANOSECONDS.toMillis(budget) + " ms!");
+			}
+			throw e;
+		} finally {
+			long used = Math.min(System.nanoTime() - start, budget);
+			usedNanos[player.ordinal()] += used;
+			remainingNanos[player.ordinal()] -= used;
+		}
+	}
+
+	/**
+	 * Adds the increment to the clock of a player whose turn is over.
+	 */
+	void endTurn(CheckersBoard.Player player) {
+		remainingNanos[player.ordinal()] += TimeUnit.MILLISECONDS.toNanos(control.getIncrementMillis());
+	}
+
+	private static CheckersMove askOnThisThread(CheckersPlayer agent, CheckersBoard board) throws ExecutionException {
+		try {
+			return agent.play(board);
+		} catch (Throwable e) {
+			// an error such as a stack overflow loses the game too, as it does on an executor
+			throw new ExecutionException(e);
+		}
+	}
+
+	private CheckersMove askOnExecutor(CheckersPlayer agent, CheckersBoard board, long budget) throws TimeoutException, ExecutionException {
+		Future<CheckersMove> move = executor.submit(() -> agent.play(board));
+		try {
+			return move.get(budget, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			move.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a move!", e);
+		} catch (TimeoutException e) {
+			move.cancel(true);
+			throw e;
+		}
+	}
+}
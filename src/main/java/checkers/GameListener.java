@@ -0,0 +1,64 @@
+package checkers;
+
+import checkers.exception.BadMoveException;
+
+import java.util.Optional;
+
+/**
+ * Observes a game run by {@link CheckersBoard#play(CheckersPlayer, CheckersPlayer, GameListener)}.
+ * Every method does nothing by default, so implementations only override the events they need.
+ */
+public interface GameListener {
+	/**
+	 * Ignores every event, for headless games.
+	 */
+	GameListener NO_OP = new GameListener() {
+	};
+
+	enum GameEndReason {
+		/** The loser has no pieces left. */
+		NO_PIECES_LEFT,
+		/** The loser cannot move, but the winner can. */
+		NO_MOVES_LEFT,
+		/** Neither player can move, so it is a tie. */
+		BOTH_BLOCKED,
+		/** The loser played a move that {@link CheckersBoard#processMove(CheckersMove)} rejected. */
+		ILLEGAL_MOVE,
+		/** Too many moves without a capture, so it is a draw. */
+		MOVE_LIMIT,
+		/** The loser overran its time. */
+		TIMEOUT,
+		/** The loser threw an exception, returned no move or lost its connection. */
+		PLAYER_ERROR;
+	}
+
+	default void gameStarted(CheckersBoard board, CheckersPlayer black, CheckersPlayer red) {
+	}
+
+	/**
+	 * @param board The board after the move.
+	 * @param player The player who moved.
+	 */
+	default void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+	}
+
+	/**
+	 * @param board The board, unchanged by the move.
+	 * @param agent The agent who played the move. Only a {@link KeyboardPlayer} may try again; other agents lose.
+	 */
+	default void illegalMove(CheckersBoard board, CheckersPlayer agent, CheckersMove move, BadMoveException error) {
+	}
+
+	/**
+	 * @param agent The agent who failed to move, and loses.
+	 * @param error What the agent threw.
+	 */
+	default void playerFailed(CheckersBoard board, CheckersPlayer agent, Throwable error) {
+	}
+
+	/**
+	 * @param loser The color that lost, or {@code Optional.empty()} if there is a tie.
+	 */
+	default void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+	}
+}
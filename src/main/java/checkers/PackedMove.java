@@ -0,0 +1,74 @@
+package checkers;
+
+/**
+ * Moves packed into an {@code int}, for search loops that cannot afford a
+ * {@link CheckersMove} per move. Squares are numbered as in {@link CheckersBitboard}.
+ * <ul>
+ * <li>bits 0-4: the start square</li>
+ * <li>bits 5-9: the end square</li>
+ * <li>bits 10-14: the captured square</li>
+ * <li>bit 15: set for captures</li>
+ * </ul>
+ * A packed move always fits in 16 bits, and no legal move packs to {@link #NONE}.
+ */
+public final class PackedMove {
+	public static final int NONE = 0;
+	/** No position has more moves or captures than this, so it is a safe buffer size. */
+	public static final int MAX_MOVES = 48;
+
+	private static final int SQUARE_MASK = 0x1F;
+	private static final int CAPTURE_FLAG = 1 << 15;
+
+	private PackedMove() {
+	}
+
+	public static int move(int from, int to) {
+		return from | (to << 5);
+	}
+
+	public static int capture(int from, int to, int captured) {
+		return from | (to << 5) | (captured << 10) | CAPTURE_FLAG;
+	}
+
+	public static int from(int move) {
+		return move & SQUARE_MASK;
+	}
+
+	public static int to(int move) {
+		return (move >>> 5) & SQUARE_MASK;
+	}
+
+	public static int captured(int move) {
+		return (move >>> 10) & SQUARE_MASK;
+	}
+
+	public static boolean isCapture(int move) {
+		return (move & CAPTURE_FLAG) != 0;
+	}
+
+	/**
+	 * Packs a move made of playable squares that are 1 or 2 diagonal steps apart.
+	 */
+	public static int of(CheckersMove move) {
+		int from = CheckersBitboard.square(move.getStartRow(), move.getStartCol());
+		int to = CheckersBitboard.square(move.getEndRow(), move.getEndCol());
+		if (Math.abs(move.getEndRow() - move.getStartRow()) == 2) {
+			int captured = CheckersBitboard.square((move.getStartRow() + move.getEndRow()) / 2, (move.getStartCol() + move.getEndCol()) / 2);
+			return capture(from, to, captured);
+		}
+		return move(from, to);
+	}
+
+	public static CheckersMove toCheckersMove(int move) {
+		return CheckersMove.builder()//
+				.fromPosition(CheckersBitboard.row(from(move)), CheckersBitboard.col(from(move)))//
+				.toPosition(CheckersBitboard.row(to(move)), CheckersBitboard.col(to(move)))//
+				.build();
+	}
+
+	public static String toString(int move) {
+		return "(" + CheckersBitboard.row(from(move)) + "," + CheckersBitboard.col(from(move)) + ")"//
+				+ (isCapture(move) ? "x" : "-")//
+				+ "(" + CheckersBitboard.row(to(move)) + "," + CheckersBitboard.col(to(move)) + ")";
+	}
+}
@@ -0,0 +1,66 @@
+package checkers;
+
+/**
+ * The time the players of a game are allowed: a limit for each move, a clock for
+ * the whole game with a Fischer increment added after every turn, or both.
+ * A limit of 0 means no limit.
+ */
+public final class TimeControl {
+	/** No limit at all, the players are only timed. */
+	public static final TimeControl UNLIMITED = new TimeControl(0, 0, 0);
+
+	private final long moveMillis;
+	private final long gameMillis;
+	private final long incrementMillis;
+
+	/**
+	 * @param moveMillis The most time for a single move, or 0.
+	 * @param gameMillis The time on the clock of each player at the start of the game, or 0.
+	 * @param incrementMillis The time added to the clock of a player after each of its turns, once for all the steps of a capture.
+	 */
+	public TimeControl(long moveMillis, long gameMillis, long incrementMillis) {
+		if (moveMillis < 0 || gameMillis < 0 || incrementMillis < 0) {
+			throw new IllegalArgumentException("The times must not be negative!");
+		}
+		if (incrementMillis > 0 && gameMillis == 0) {
+			throw new IllegalArgumentException("An increment needs a game clock!");
+		}
+		this.moveMillis = moveMillis;
+		this.gameMillis = gameMillis;
+		this.incrementMillis = incrementMillis;
+	}
+
+	public static TimeControl perMove(long moveMillis) {
+		return new TimeControl(moveMillis, 0, 0);
+	}
+
+	public static TimeControl fischer(long gameMillis, long incrementMillis) {
+		return new TimeControl(0, gameMillis, incrementMillis);
+	}
+
+	public long getMoveMillis() {
+		return moveMillis;
+	}
+
+	public long getGameMillis() {
+		return gameMillis;
+	}
+
+	public long getIncrementMillis() {
+		return incrementMillis;
+	}
+
+	public boolean isUnlimited() {
+		return moveMillis == 0 && gameMillis == 0;
+	}
+
+	@Override
+	public String toString() {
+		if (isUnlimited()) {
+			return "unlimited";
+		}
+		String game = gameMillis == 0 ? "" : gameMillis + "+" + incrementMillis + " ms";
+		String move = moveMillis == 0 ? "" : moveMillis + " ms/move";
+		return game.isEmpty() || move.isEmpty() ? game + move : game + ", " + move;
+	}
+}
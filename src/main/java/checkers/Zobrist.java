@@ -0,0 +1,75 @@
+package checkers;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for the 64-bit Zobrist hash kept by {@link CheckersBoard}.
+ * The keys come from a fixed seed, so a position hashes to the same value on
+ * every run and hashes can be stored on disk.
+ */
+public final class Zobrist {
+	public static final int BLACK_MAN = 0;
+	public static final int BLACK_KING = 1;
+	public static final int RED_MAN = 2;
+	public static final int RED_KING = 3;
+
+	private static final long[][] PIECES = new long[4][CheckersBitboard.SQUARES];
+	private static final long[] CAPTURE_LOCK = new long[CheckersBitboard.SQUARES];
+	private static final long RED_TO_MOVE;
+
+	static {
+		SplittableRandom random = new SplittableRandom(0x5EED_C0DE_CAFEL);
+		for (long[] keys : PIECES) {
+			for (int square = 0; square < keys.length; square++) {
+				keys[square] = random.nextLong();
+			}
+		}
+		for (int square = 0; square < CAPTURE_LOCK.length; square++) {
+			CAPTURE_LOCK[square] = random.nextLong();
+		}
+		RED_TO_MOVE = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long piece(int pieceType, int square) {
+		return PIECES[pieceType][square];
+	}
+
+	public static long captureLock(int square) {
+		return CAPTURE_LOCK[square];
+	}
+
+	public static long redToMove() {
+		return RED_TO_MOVE;
+	}
+
+	/**
+	 * Computes the key of a position from scratch.
+	 * @param lockSquare The square of the piece that must keep capturing, or -1.
+	 */
+	public static long key(int blackPieces, int redPieces, int kings, CheckersBoard.Player toMove, int lockSquare) {
+		long key = 0;
+		key ^= keyOf(BLACK_MAN, blackPieces & ~kings);
+		key ^= keyOf(BLACK_KING, blackPieces & kings);
+		key ^= keyOf(RED_MAN, redPieces & ~kings);
+		key ^= keyOf(RED_KING, redPieces & kings);
+		if (toMove == CheckersBoard.Player.RED) {
+			key ^= RED_TO_MOVE;
+		}
+		if (lockSquare >= 0) {
+			key ^= CAPTURE_LOCK[lockSquare];
+		}
+		return key;
+	}
+
+	private static long keyOf(int pieceType, int mask) {
+		long key = 0;
+		while (mask != 0) {
+			key ^= PIECES[pieceType][Integer.numberOfTrailingZeros(mask)];
+			mask &= mask - 1;
+		}
+		return key;
+	}
+}
@@ -0,0 +1,54 @@
+package checkers.book;
+
+import checkers.PackedMove;
+
+/**
+ * A move of an {@link OpeningBook}, with the games it was played in.
+ */
+public class BookMove {
+	private final int move;
+	private final int games;
+	private final int wins;
+	private final int draws;
+
+	BookMove(int move, int games, int wins, int draws) {
+		this.move = move;
+		this.games = games;
+		this.wins = wins;
+		this.draws = draws;
+	}
+
+	/**
+	 * @return The move, packed as described in {@link PackedMove}.
+	 */
+	public int getMove() {
+		return move;
+	}
+
+	public int getGames() {
+		return games;
+	}
+
+	/**
+	 * @return The games won by the player who played the move.
+	 */
+	public int getWins() {
+		return wins;
+	}
+
+	public int getDraws() {
+		return draws;
+	}
+
+	/**
+	 * @return The points of the player who played the move per game, counting a draw as half a point.
+	 */
+	public double getScore() {
+		return (wins + draws / 2.0) / games;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d games, %.1f%%", PackedMove.toString(move), games, 100 * getScore());
+	}
+}
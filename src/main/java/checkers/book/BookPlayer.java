@@ -0,0 +1,47 @@
+package checkers.book;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+
+/**
+ * Plays the best move of an {@link OpeningBook} while the game is in the book,
+ * and lets another player choose once it is not. The other player belongs to
+ * this one, and is closed with it.
+ */
+public class BookPlayer implements CheckersPlayer, AutoCloseable {
+	public static final int DEFAULT_MIN_GAMES = 2;
+
+	private final OpeningBook book;
+	private final CheckersPlayer fallback;
+	private final int minGames;
+	private final int[] legalMoves = new int[PackedMove.MAX_MOVES];
+
+	public BookPlayer(OpeningBook book, CheckersPlayer fallback) {
+		this(book, fallback, DEFAULT_MIN_GAMES);
+	}
+
+	/**
+	 * @param minGames The fewest games a book move must have been played in, so that a lucky game is not trusted.
+	 */
+	public BookPlayer(OpeningBook book, CheckersPlayer fallback, int minGames) {
+		this.book = book;
+		this.fallback = fallback;
+		this.minGames = minGames;
+	}
+
+	@Override
+	public CheckersMove play(CheckersBoard board) {
+		int move = book.bestMove(board, minGames, legalMoves);
+		if (move == PackedMove.NONE) {
+			return fallback.play(board);
+		}
+		return PackedMove.toCheckersMove(move);
+	}
+
+	@Override
+	public void close() {
+		CheckersPlayer.close(fallback);
+	}
+}
@@ -0,0 +1,143 @@
+package checkers.book;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The moves played from the positions of past games, written by
+ * {@link OpeningBookBuilder}. The book is a file of fixed-size records sorted
+ * by position, which is memory-mapped and searched by bisection, so a lookup
+ * takes microseconds and the book costs no heap. A book can be shared between
+ * threads.
+ * <p>
+ * The file starts with {@link #MAGIC} and the number of records. Each record is
+ * <ul>
+ * <li>the {@link CheckersBoard#zobristKey()} of the position (8 bytes)</li>
+ * <li>the move, packed as in {@link PackedMove} (4 bytes)</li>
+ * <li>the number of games it was played in (4 bytes)</li>
+ * <li>the games won by the player who played it (4 bytes)</li>
+ * <li>the games drawn (4 bytes)</li>
+ * </ul>
+ * The records are sorted by key, then by move.
+ */
+public class OpeningBook {
+	static final int MAGIC = 0x43424B31; // "CBK1"
+	static final int HEADER_BYTES = 8;
+	static final int RECORD_BYTES = 24;
+
+	private final MappedByteBuffer records;
+	private final int size;
+
+	public OpeningBook(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (records.limit() < HEADER_BYTES || records.getInt(0) != MAGIC) {
+			throw new IOException(file + " is not an opening book!");
+		}
+		size = records.getInt(4);
+		if (records.limit() != HEADER_BYTES + (long) size * RECORD_BYTES) {
+			throw new IOException(file + " does not hold " + size + " book moves!");
+		}
+	}
+
+	/**
+	 * @return The number of moves in the book, over all positions.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return The moves of the book for the position, in the order of their packed values.
+	 */
+	public List<BookMove> getMoves(CheckersBoard board) {
+		List<BookMove> moves = new ArrayList<>();
+		long key = board.zobristKey();
+		for (int record = firstRecord(key); record < size && key(record) == key; record++) {
+			int offset = HEADER_BYTES + record * RECORD_BYTES;
+			moves.add(new BookMove(records.getInt(offset + 8), records.getInt(offset + 12), records.getInt(offset + 16), records.getInt(offset + 20)));
+		}
+		return moves;
+	}
+
+	/**
+	 * Picks the move with the best score among those played in at least {@code minGames} games,
+	 * preferring the most played one on equal scores.
+	 * @return The move, packed as described in {@link PackedMove}, or {@link PackedMove#NONE}
+	 * if the book has no such move or if it is not legal in the position.
+	 */
+	public int bestMove(CheckersBoard board, int minGames) {
+		return bestMove(board, minGames, new int[PackedMove.MAX_MOVES]);
+	}
+
+	/**
+	 * Same as {@link #bestMove(CheckersBoard, int)}, without allocating.
+	 * @param legalMoves Where the legal moves of the position are listed, of length {@link PackedMove#MAX_MOVES}.
+	 */
+	public int bestMove(CheckersBoard board, int minGames, int[] legalMoves) {
+		long key = board.zobristKey();
+		int bestMove = PackedMove.NONE;
+		long bestPoints = 0;
+		long bestGames = 1;
+		for (int record = firstRecord(key); record < size && key(record) == key; record++) {
+			int offset = HEADER_BYTES + record * RECORD_BYTES;
+			int games = records.getInt(offset + 12);
+			if (games < minGames) {
+				continue;
+			}
+			// points are counted in half points, and scores compared without dividing
+			long points = 2L * records.getInt(offset + 16) + records.getInt(offset + 20);
+			long comparison = points * bestGames - bestPoints * games;
+			if (bestMove == PackedMove.NONE || comparison > 0 || (comparison == 0 && games > bestGames)) {
+				bestMove = records.getInt(offset + 8);
+				bestPoints = points;
+				bestGames = games;
+			}
+		}
+		return bestMove == PackedMove.NONE || isLegal(board, bestMove, legalMoves) ? bestMove : PackedMove.NONE;
+	}
+
+	/**
+	 * A different position may have the same key, so a book move is checked before it is played.
+	 */
+	private static boolean isLegal(CheckersBoard board, int move, int[] moves) {
+		int count = board.legalMoves(moves);
+		for (int i = 0; i < count; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return The first record whose key is not below {@code key}.
+	 */
+	private int firstRecord(long key) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (key(middle) < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private long key(int record) {
+		return records.getLong(HEADER_BYTES + record * RECORD_BYTES);
+	}
+}
@@ -0,0 +1,240 @@
+package checkers.book;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+import checkers.bot.search.AlphaBetaBot;
+import checkers.exception.BadMoveException;
+import checkers.record.GameRecord;
+import checkers.record.GameRecorder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Collects the opening moves of many games, with how each game ended, and
+ * writes them as an {@link OpeningBook}. The games can come from self-play or
+ * from game records through {@link #addGame(GameRecord, int)}. A builder
+ * can be fed from several threads.
+ * <p>
+ * Usage: {@code OpeningBookBuilder [-games N] [-plies N] [-random N] [-millis N] [-threads N] file}
+ */
+public class OpeningBookBuilder {
+	public static final int DEFAULT_MAX_PLIES = 20;
+
+	private final int maxPlies;
+	// for each position key, the games, wins and draws of each packed move
+	private final Map<Long, Map<Integer, int[]>> statistics = new HashMap<>();
+
+	public OpeningBookBuilder() {
+		this(DEFAULT_MAX_PLIES);
+	}
+
+	/**
+	 * @param maxPlies The number of plies of each game to add to the book. Each step of a chained capture is a ply.
+	 */
+	public OpeningBookBuilder(int maxPlies) {
+		this.maxPlies = maxPlies;
+	}
+
+	/**
+	 * Adds the moves of a game played from {@link CheckersBoard#initBoard()}.
+	 * @param moves The moves of the game, packed as described in {@link PackedMove}.
+	 * @param firstPly The first ply to add, so that the random moves that start a game can be left out.
+	 * @param loser The color that lost, or {@code Optional.empty()} for a draw.
+	 * @throws IllegalArgumentException If a move of the game is illegal.
+	 */
+	public void addGame(int[] moves, int count, int firstPly, Optional<CheckersBoard.Player> loser) {
+		CheckersBoard board = CheckersBoard.initBoard();
+		int plies = Math.min(count, maxPlies);
+		long[] keys = new long[plies];
+		CheckersBoard.Player[] movers = new CheckersBoard.Player[plies];
+		for (int ply = 0; ply < plies; ply++) {
+			keys[ply] = board.zobristKey();
+			movers[ply] = board.getCurrentPlayer();
+			try {
+				board.processMove(moves[ply]);
+			} catch (BadMoveException e) {
+				throw new IllegalArgumentException("Move " + (ply + 1) + " of the game is illegal: " + e.getMessage(), e);
+			}
+		}
+		synchronized (statistics) {
+			for (int ply = firstPly; ply < plies; ply++) {
+				int[] counts = statistics.computeIfAbsent(keys[ply], key -> new HashMap<>()).computeIfAbsent(moves[ply], move -> new int[3]);
+				counts[0]++;
+				if (loser.isEmpty()) {
+					counts[2]++;
+				} else if (loser.get() != movers[ply]) {
+					counts[1]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the moves of a recorded game.
+	 * @param firstPly The first ply to add, so that the random moves that start a game can be left out.
+	 * @throws IllegalArgumentException If a move of the game is illegal.
+	 */
+	public void addGame(GameRecord game, int firstPly) {
+		addGame(game.getMoves(), game.getMoveCount(), firstPly, game.getLoser());
+	}
+
+	/**
+	 * Plays games of a bot against itself, and adds them.
+	 * @param bot Creates a new bot for each color of each game, which is closed after the game.
+	 * @param randomPlies The number of random plies that start each game, so that the games differ. They are not added.
+	 */
+	public void selfPlay(Supplier<? extends CheckersPlayer> bot, int games, int randomPlies, int threads) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int game = 0; game < games; game++) {
+				long seed = game;
+				results.add(pool.submit(() -> {
+					Random random = new Random(seed);
+					// the players of a game share the count of random plies left
+					int[] randomPliesLeft = { randomPlies };
+					CheckersPlayer black = bot.get();
+					CheckersPlayer red = bot.get();
+					try {
+						CheckersBoard.initBoard().play(new RandomOpening(black, randomPliesLeft, random),//
+								new RandomOpening(red, randomPliesLeft, random), new GameRecorder(record -> addGame(record, randomPlies)));
+					} finally {
+						CheckersPlayer.close(black);
+						CheckersPlayer.close(red);
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A game failed!", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return The number of distinct moves collected, over all positions.
+	 */
+	public int size() {
+		synchronized (statistics) {
+			int size = 0;
+			for (Map<Integer, int[]> moves : statistics.values()) {
+				size += moves.size();
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * Writes the book in the format read by {@link OpeningBook}.
+	 */
+	public void write(Path file) throws IOException {
+		synchronized (statistics) {
+			Long[] keys = statistics.keySet().toArray(new Long[0]);
+			Arrays.sort(keys);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+				out.writeInt(OpeningBook.MAGIC);
+				out.writeInt(size());
+				for (Long key : keys) {
+					Map<Integer, int[]> moves = statistics.get(key);
+					Integer[] packedMoves = moves.keySet().toArray(new Integer[0]);
+					Arrays.sort(packedMoves);
+					for (Integer move : packedMoves) {
+						int[] counts = moves.get(move);
+						out.writeLong(key);
+						out.writeInt(move);
+						out.writeInt(counts[0]);
+						out.writeInt(counts[1]);
+						out.writeInt(counts[2]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Plays random moves while the game has random plies left, then lets another player choose.
+	 */
+	private static class RandomOpening implements CheckersPlayer {
+		private final CheckersPlayer player;
+		private final int[] randomPliesLeft;
+		private final Random random;
+		private final int[] moves = new int[PackedMove.MAX_MOVES];
+
+		RandomOpening(CheckersPlayer player, int[] randomPliesLeft, Random random) {
+			this.player = player;
+			this.randomPliesLeft = randomPliesLeft;
+			this.random = random;
+		}
+
+		@Override
+		public CheckersMove play(CheckersBoard board) {
+			if (randomPliesLeft[0] == 0) {
+				return player.play(board);
+			}
+			randomPliesLeft[0]--;
+			return PackedMove.toCheckersMove(moves[random.nextInt(board.legalMoves(moves))]);
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int games = 100;
+		int maxPlies = DEFAULT_MAX_PLIES;
+		int randomPlies = 4;
+		long moveMillis = 50;
+		int threads = Runtime.getRuntime().availableProcessors();
+		Path file = null;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-games":
+				games = Integer.parseInt(args[++i]);
+				break;
+			case "-plies":
+				maxPlies = Integer.parseInt(args[++i]);
+				break;
+			case "-random":
+				randomPlies = Integer.parseInt(args[++i]);
+				break;
+			case "-millis":
+				moveMillis = Long.parseLong(args[++i]);
+				break;
+			case "-threads":
+				threads = Integer.parseInt(args[++i]);
+				break;
+			default:
+				file = Paths.get(args[i]);
+			}
+		}
+		if (file == null) {
+			System.err.println("Usage: OpeningBookBuilder [-games N] [-plies N] [-random N] [-millis N] [-threads N] file");
+			System.exit(1);
+		}
+		OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies);
+		long millis = moveMillis;
+		long start = System.nanoTime();
+		builder.selfPlay(() -> new AlphaBetaBot(millis), games, randomPlies, threads);
+		builder.write(file);
+		System.out.println(builder.size() + " book moves from " + games + " games in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+}
@@ -0,0 +1,239 @@
+package checkers.bot.mcts;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays the most visited move of a Monte Carlo tree search within a fixed time per move.
+ * <p>
+ * The tree lives in a {@link NodePool} of fixed capacity, and all the threads
+ * grow the same tree, spreading over it with virtual losses. Once the pool is
+ * full, the search goes on with the tree it has. After a move, the subtree of
+ * the position the opponent leaves is kept for the next search: it is copied
+ * into a second pool of the same size, which then becomes the tree.
+ * The helper threads live as long as the bot, until {@link #close()}.
+ */
+public class MctsBot implements CheckersPlayer, AutoCloseable {
+	public static final long DEFAULT_MOVE_TIME_MILLIS = 1000;
+	public static final int DEFAULT_NODES = 1 << 19;
+	/** The UCT constant for results scored from 0 to 1. */
+	public static final double DEFAULT_EXPLORATION = 1.0;
+	/** The memory each node of the tree takes. Reusing the tree needs a second pool of the same size. */
+	public static final int BYTES_PER_NODE = NodePool.BYTES_PER_NODE;
+
+	private final long moveTimeMillis;
+	private final int threads;
+	private final int capacity;
+	private final ExecutorService helpers;
+	private double exploration = DEFAULT_EXPLORATION;
+	private boolean verbose;
+	private NodePool pool;
+	private NodePool spare;
+	private MctsWorker[] workers;
+	// the position after the last move played, and its node
+	private CheckersBoard lastPosition;
+	private int lastNode = NodePool.NONE;
+	private MctsResult lastResult;
+
+	public MctsBot() {
+		this(DEFAULT_MOVE_TIME_MILLIS);
+	}
+
+	public MctsBot(long moveTimeMillis) {
+		this(moveTimeMillis, 1);
+	}
+
+	/**
+	 * @param threads The number of threads searching each move, including the calling thread.
+	 */
+	public MctsBot(long moveTimeMillis, int threads) {
+		this(moveTimeMillis, threads, DEFAULT_NODES);
+	}
+
+	/**
+	 * @param nodes The most nodes the tree can hold, which takes {@link #BYTES_PER_NODE} bytes each.
+	 */
+	public MctsBot(long moveTimeMillis, int threads, int nodes) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The search needs at least 1 thread!");
+		}
+		if (nodes < PackedMove.MAX_MOVES + 1) {
+			throw new IllegalArgumentException("The tree needs room for at least " + (PackedMove.MAX_MOVES + 1) + " nodes!");
+		}
+		this.moveTimeMillis = moveTimeMillis;
+		this.threads = threads;
+		this.capacity = nodes;
+		this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+			Thread thread = new Thread(runnable, "mcts-helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param exploration The weight of the exploration term of UCT. Higher values spread the playouts over more moves.
+	 */
+	public void setExploration(double exploration) {
+		this.exploration = exploration;
+		workers = null;
+	}
+
+	/**
+	 * @param verbose Whether to print the statistics of every search.
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+
+	/**
+	 * @return The result of the last search, or {@code null} before the first move.
+	 */
+	public MctsResult getLastResult() {
+		return lastResult;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * @return The memory taken by the pools of nodes allocated so far.
+	 */
+	public long getMemoryBytes() {
+		return ((pool == null ? 0L : capacity) + (spare == null ? 0L : capacity)) * BYTES_PER_NODE;
+	}
+
+	@Override
+	public CheckersMove play(CheckersBoard board) {
+		long start = System.nanoTime();
+		long deadline = start + moveTimeMillis * 1_000_000;
+		if (pool == null) {
+			pool = new NodePool(capacity);
+		}
+		int reused = reuseTree(board);
+		if (workers == null) {
+			workers = new MctsWorker[threads];
+			for (int i = 0; i < threads; i++) {
+				workers[i] = new MctsWorker(pool, exploration);
+			}
+		}
+
+		// the root needs its children even for a forced move, which is played without a search
+		workers[0].expandRoot(board);
+		long playouts = 0;
+		if (pool.childCount(NodePool.ROOT) > 1) {
+			AtomicBoolean stop = new AtomicBoolean();
+			List<Future<?>> helperSearches = new ArrayList<>();
+			for (int i = 1; i < threads; i++) {
+				MctsWorker helper = workers[i];
+				CheckersBoard helperBoard = board.clone();
+				helperSearches.add(helpers.submit(() -> helper.search(helperBoard, deadline, stop)));
+			}
+			workers[0].search(board, deadline, stop);
+			stop.set(true);
+			for (Future<?> helperSearch : helperSearches) {
+				waitFor(helperSearch);
+			}
+			for (MctsWorker worker : workers) {
+				playouts += worker.getPlayouts();
+			}
+		}
+
+		int best = mostVisitedChild();
+		int move = pool.move(best);
+		int visits = pool.visits(best);
+		double winRate = visits == 0 ? 0.5 : pool.score(best) / (2.0 * visits);
+		lastResult = new MctsResult(move, visits, winRate, playouts, System.nanoTime() - start, pool.size(), reused, capacity);
+		lastPosition = board.clone();
+		lastPosition.makeMove(move);
+		lastNode = best;
+		if (verbose) {
+			System.out.println(lastResult);
+		}
+		return PackedMove.toCheckersMove(move);
+	}
+
+	private int mostVisitedChild() {
+		int first = pool.firstChild(NodePool.ROOT);
+		int best = first;
+		for (int child = first + 1; child < first + pool.childCount(NodePool.ROOT); child++) {
+			if (pool.visits(child) > pool.visits(best)) {
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Makes the node of {@code board} the root of the tree, if the tree of the last search has it.
+	 * @return The number of nodes kept.
+	 */
+	private int reuseTree(CheckersBoard board) {
+		int node = lastPosition == null ? NodePool.NONE : find(lastNode, lastPosition, board);
+		if (node == NodePool.NONE) {
+			pool.clear();
+			return 0;
+		}
+		if (spare == null) {
+			spare = new NodePool(capacity);
+		}
+		int reused = pool.copySubtree(node, spare);
+		NodePool tree = spare;
+		spare = pool;
+		pool = tree;
+		workers = null;
+		return reused;
+	}
+
+	/**
+	 * Looks for {@code target} among the positions the opponent can reach from
+	 * {@code node} in one turn, which may take several steps of a chained capture.
+	 * @param position The position of {@code node}, walked and restored.
+	 */
+	private int find(int node, CheckersBoard position, CheckersBoard target) {
+		if (position.getCurrentPlayer() == target.getCurrentPlayer()) {
+			return position.equals(target) ? node : NodePool.NONE;
+		}
+		int first = pool.firstChild(node);
+		for (int child = first; child < first + pool.childCount(node); child++) {
+			position.makeMove(pool.move(child));
+			int found = find(child, position, target);
+			position.unmakeMove();
+			if (found != NodePool.NONE) {
+				return found;
+			}
+		}
+		return NodePool.NONE;
+	}
+
+	/**
+	 * Stops the helper threads. The bot must not play after this.
+	 */
+	@Override
+	public void close() {
+		if (helpers != null) {
+			helpers.shutdownNow();
+		}
+	}
+
+	private static void waitFor(Future<?> search) {
+		try {
+			search.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a search thread!", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A search thread failed!", e.getCause());
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package checkers.bot.mcts;
+
+import checkers.PackedMove;
+
+/**
+ * The outcome of one search of {@link MctsBot}, with the statistics needed to size it.
+ */
+public class MctsResult {
+	private final int bestMove;
+	private final int visits;
+	private final double winRate;
+	private final long playouts;
+	private final long elapsedNanos;
+	private final int nodes;
+	private final int reusedNodes;
+	private final int capacity;
+
+	MctsResult(int bestMove, int visits, double winRate, long playouts, long elapsedNanos, int nodes, int reusedNodes, int capacity) {
+		this.bestMove = bestMove;
+		this.visits = visits;
+		this.winRate = winRate;
+		this.playouts = playouts;
+		this.elapsedNanos = elapsedNanos;
+		this.nodes = nodes;
+		this.reusedNodes = reusedNodes;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @return The most visited move, packed as described in {@link PackedMove}.
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return The number of playouts that went through the best move.
+	 */
+	public int getVisits() {
+		return visits;
+	}
+
+	/**
+	 * @return The share of points the playouts of the best move won, from 0 to 1, counting a draw as half a point.
+	 */
+	public double getWinRate() {
+		return winRate;
+	}
+
+	public long getPlayouts() {
+		return playouts;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	public long getPlayoutsPerSecond() {
+		return elapsedNanos == 0 ? 0 : playouts * 1_000_000_000L / elapsedNanos;
+	}
+
+	/**
+	 * @return The number of nodes in the tree at the end of the search.
+	 */
+	public int getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return The number of nodes kept from the tree of the previous move.
+	 */
+	public int getReusedNodes() {
+		return reusedNodes;
+	}
+
+	/**
+	 * @return The most nodes the tree can hold.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()//
+				.append("move ").append(PackedMove.toString(bestMove))//
+				.append(" visits ").append(visits)//
+				.append(String.format(" win %.1f%%", 100 * winRate))//
+				.append(" playouts ").append(playouts)//
+				.append(" pps ").append(getPlayoutsPerSecond())//
+				.append(" time ").append(getElapsedMillis()).append("ms")//
+				.append(" nodes ").append(nodes).append('/').append(capacity)//
+				.append(" reused ").append(reusedNodes)//
+				.append(" bytes/node ").append(MctsBot.BYTES_PER_NODE)//
+				.toString();
+	}
+}
@@ -0,0 +1,154 @@
+package checkers.bot.mcts;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs playouts on a tree shared with other workers, on a board of its own.
+ * Each playout walks down the tree with UCT, expands the leaf it reaches,
+ * plays random moves to the end of the game and adds the result to the nodes
+ * it went through. A node counts its visit on the way down, before its result
+ * is known, which is a virtual loss that steers the other workers elsewhere
+ * until the result comes back.
+ * <p>
+ * A playout allocates nothing: the moves go through buffers of the worker and
+ * the board is walked with {@link CheckersBoard#makeMove(int)} and
+ * {@link CheckersBoard#unmakeMove()}.
+ */
+class MctsWorker {
+	static final int WIN = 2;
+	static final int DRAW = 1;
+	static final int LOSS = 0;
+
+	private static final int MAX_TREE_DEPTH = 256;
+	private static final int MAX_PLAYOUT_PLIES = 512;
+	// as in CheckersBoard.play, a game is drawn after this many moves without a capture
+	private static final int QUIET_MOVE_LIMIT = 25;
+	// a node gets children on its second visit, so that the leaves of the tree cost no memory
+	private static final int EXPAND_VISITS = 2;
+
+	private final NodePool pool;
+	private final double exploration;
+	private final int[] moves = new int[PackedMove.MAX_MOVES];
+	private final int[] path = new int[MAX_TREE_DEPTH];
+	private final CheckersBoard.Player[] movers = new CheckersBoard.Player[MAX_TREE_DEPTH];
+	private CheckersBoard board;
+	private long random;
+	private long playouts;
+
+	MctsWorker(NodePool pool, double exploration) {
+		this.pool = pool;
+		this.exploration = exploration;
+		random = ThreadLocalRandom.current().nextLong() | 1;
+	}
+
+	void expandRoot(CheckersBoard root) {
+		if (pool.childCount(NodePool.ROOT) == NodePool.UNEXPANDED) {
+			pool.expand(NodePool.ROOT, moves, root.legalMoves(moves));
+		}
+	}
+
+	/**
+	 * Runs playouts from {@code root} until the deadline or until {@code stop} is set.
+	 */
+	void search(CheckersBoard root, long deadline, AtomicBoolean stop) {
+		board = root;
+		playouts = 0;
+		while (!stop.get() && System.nanoTime() < deadline) {
+			playout();
+		}
+	}
+
+	long getPlayouts() {
+		return playouts;
+	}
+
+	void playout() {
+		int base = board.getUndoDepth();
+		int node = NodePool.ROOT;
+		int depth = 0;
+		int quietMoves = 0;
+		pool.addVisit(node);
+		while (depth < MAX_TREE_DEPTH - 1 && quietMoves <= QUIET_MOVE_LIMIT) {
+			int count = pool.childCount(node);
+			if (count == NodePool.UNEXPANDED && pool.visits(node) >= EXPAND_VISITS && !pool.isFull()) {
+				count = pool.expand(node, moves, board.legalMoves(moves));
+			}
+			if (count <= 0) {
+				break;
+			}
+			node = select(node, count);
+			int move = pool.move(node);
+			movers[++depth] = board.getCurrentPlayer();
+			path[depth] = node;
+			quietMoves = PackedMove.isCapture(move) ? 0 : quietMoves + 1;
+			board.makeMove(move);
+			pool.addVisit(node);
+		}
+		CheckersBoard.Player winner = rollout(quietMoves);
+		for (int i = 1; i <= depth; i++) {
+			pool.addScore(path[i], winner == null ? DRAW : winner == movers[i] ? WIN : LOSS);
+		}
+		while (board.getUndoDepth() > base) {
+			board.unmakeMove();
+		}
+		playouts++;
+	}
+
+	/**
+	 * @return The child with the best upper confidence bound, or the first child that was never visited.
+	 */
+	private int select(int node, int count) {
+		int first = pool.firstChild(node);
+		double logVisits = Math.log(pool.visits(node));
+		int best = first;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int child = first; child < first + count; child++) {
+			int visits = pool.visits(child);
+			if (visits == 0) {
+				return child;
+			}
+			double value = pool.score(child) / (2.0 * visits) + exploration * Math.sqrt(logVisits / visits);
+			if (value > bestValue) {
+				bestValue = value;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Plays random legal moves until the game ends, as {@link CheckersBoard#play} would end it.
+	 * @return The winner, or {@code null} for a draw.
+	 */
+	private CheckersBoard.Player rollout(int quietMoves) {
+		for (int ply = 0; ply < MAX_PLAYOUT_PLIES && quietMoves <= QUIET_MOVE_LIMIT; ply++) {
+			int count = board.legalMoves(moves);
+			if (count == 0) {
+				CheckersBoard.Player loser = board.getCurrentPlayer();
+				if (board.countPiecesOfPlayer(loser) > 0 && !board.hasLegalAction(board.otherPlayer(loser))) {
+					return null;
+				}
+				return board.otherPlayer(loser);
+			}
+			int move = moves[nextInt(count)];
+			quietMoves = PackedMove.isCapture(move) ? 0 : quietMoves + 1;
+			board.makeMove(move);
+		}
+		return null;
+	}
+
+	/**
+	 * A xorshift generator, which is cheaper than {@link java.util.Random} and needs no synchronization.
+	 * @return A number from 0 to {@code bound - 1}.
+	 */
+	private int nextInt(int bound) {
+		random ^= random << 13;
+		random ^= random >>> 7;
+		random ^= random << 17;
+		return (int) (((random >>> 32) * bound) >>> 32);
+	}
+}
@@ -0,0 +1,175 @@
+package checkers.bot.mcts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The nodes of a search tree, kept in parallel arrays and addressed by index,
+ * so that a tree of millions of nodes is a handful of objects. The children of
+ * a node are allocated together, in a block of consecutive indexes.
+ * <p>
+ * Several threads can grow and update the tree at once: the counters are atomic,
+ * and a node is expanded by the one thread that moves it from {@link #UNEXPANDED}
+ * to {@link #EXPANDING}. Publishing the child count then makes the block visible
+ * to the other threads.
+ */
+class NodePool {
+	static final int ROOT = 0;
+	static final int NONE = -1;
+	/** The child count of a node whose children have not been generated yet. */
+	static final int UNEXPANDED = -1;
+	/** The child count of a node whose children are being generated by another thread. */
+	static final int EXPANDING = -2;
+	/** The memory used by each node: a move, a first child, a child count, a visit count and a score. */
+	static final int BYTES_PER_NODE = 5 * Integer.BYTES;
+
+	private final int capacity;
+	private final int[] moves;
+	private final int[] firstChildren;
+	private final AtomicIntegerArray childCounts;
+	private final AtomicIntegerArray visits;
+	// in half points, for the player who played the move into the node
+	private final AtomicIntegerArray scores;
+	private final AtomicInteger size = new AtomicInteger();
+
+	NodePool(int capacity) {
+		this.capacity = capacity;
+		moves = new int[capacity];
+		firstChildren = new int[capacity];
+		childCounts = new AtomicIntegerArray(capacity);
+		visits = new AtomicIntegerArray(capacity);
+		scores = new AtomicIntegerArray(capacity);
+		clear();
+	}
+
+	/**
+	 * Leaves only an unexpanded root.
+	 */
+	void clear() {
+		size.set(1);
+		initialize(ROOT, 0);
+	}
+
+	private void initialize(int node, int move) {
+		moves[node] = move;
+		childCounts.set(node, UNEXPANDED);
+		visits.set(node, 0);
+		scores.set(node, 0);
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	int size() {
+		return size.get();
+	}
+
+	boolean isFull() {
+		return size.get() >= capacity;
+	}
+
+	int move(int node) {
+		return moves[node];
+	}
+
+	int firstChild(int node) {
+		return firstChildren[node];
+	}
+
+	/**
+	 * @return The number of children, or {@link #UNEXPANDED} or {@link #EXPANDING}.
+	 */
+	int childCount(int node) {
+		return childCounts.get(node);
+	}
+
+	int visits(int node) {
+		return visits.get(node);
+	}
+
+	int score(int node) {
+		return scores.get(node);
+	}
+
+	void addVisit(int node) {
+		visits.incrementAndGet(node);
+	}
+
+	void addScore(int node, int halfPoints) {
+		scores.addAndGet(node, halfPoints);
+	}
+
+	/**
+	 * Gives a node one child per move, unless another thread is already doing it or the pool is full.
+	 * @param legalMoves The moves of the position of the node, packed as described in {@link checkers.PackedMove}.
+	 * @return The child count of the node after the attempt.
+	 */
+	int expand(int node, int[] legalMoves, int count) {
+		if (!childCounts.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+			return childCounts.get(node);
+		}
+		int first = reserve(count);
+		if (first == NONE) {
+			childCounts.set(node, UNEXPANDED);
+			return UNEXPANDED;
+		}
+		for (int i = 0; i < count; i++) {
+			initialize(first + i, legalMoves[i]);
+		}
+		firstChildren[node] = first;
+		childCounts.set(node, count);
+		return count;
+	}
+
+	/**
+	 * Takes {@code count} nodes, unless fewer are left, so that the size never goes past the capacity.
+	 * @return The first node taken, or {@link #NONE}.
+	 */
+	private int reserve(int count) {
+		while (true) {
+			int first = size.get();
+			if (first + count > capacity) {
+				return NONE;
+			}
+			if (size.compareAndSet(first, first + count)) {
+				return first;
+			}
+		}
+	}
+
+	/**
+	 * Copies the subtree of {@code node} into {@code target}, where it becomes the
+	 * root, in breadth-first order so that the blocks of children stay together.
+	 * Must not run while the tree is being searched.
+	 * @return The number of nodes copied.
+	 */
+	int copySubtree(int node, NodePool target) {
+		target.size.set(1);
+		target.copyNode(ROOT, this, node);
+		// until a node is reached, its first child holds the index of its source node
+		target.firstChildren[ROOT] = node;
+		for (int copied = 0; copied < target.size.get(); copied++) {
+			int source = target.firstChildren[copied];
+			int count = childCounts.get(source);
+			if (count <= 0) {
+				continue;
+			}
+			int first = target.size.getAndAdd(count);
+			for (int i = 0; i < count; i++) {
+				int sourceChild = firstChildren[source] + i;
+				target.copyNode(first + i, this, sourceChild);
+				target.firstChildren[first + i] = sourceChild;
+			}
+			target.firstChildren[copied] = first;
+		}
+		return target.size.get();
+	}
+
+	private void copyNode(int node, NodePool source, int sourceNode) {
+		moves[node] = source.moves[sourceNode];
+		childCounts.set(node, source.childCounts.get(sourceNode));
+		visits.set(node, source.visits.get(sourceNode));
+		scores.set(node, source.scores.get(sourceNode));
+	}
+}
@@ -0,0 +1,172 @@
+package checkers.bot.search;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+import checkers.eval.DefaultEvaluator;
+import checkers.eval.Evaluator;
+import checkers.tablebase.Tablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays the best move found by an alpha-beta search within a fixed time per move.
+ * <p>
+ * With more than one thread, the search runs in "Lazy SMP" fashion: every
+ * thread searches the same root position on its own board, and they only
+ * cooperate through the shared transposition table. Half of the helper
+ * threads start one depth ahead, so that the threads spread over different
+ * parts of the tree. The deepest completed iteration of any thread is played.
+ * The helper threads live as long as the bot, until {@link #close()}.
+ */
+public class AlphaBetaBot implements CheckersPlayer, AutoCloseable {
+	public static final long DEFAULT_MOVE_TIME_MILLIS = 1000;
+	public static final int DEFAULT_HASH_SIZE_MB = 16;
+
+	private final long moveTimeMillis;
+	private final int maxDepth;
+	private final TranspositionTable table;
+	private final int threads;
+	private final ExecutorService helpers;
+	private Tablebase tablebase;
+	private Evaluator evaluator = DefaultEvaluator.configured();
+	private boolean verbose;
+	private SearchResult lastResult;
+
+	public AlphaBetaBot() {
+		this(DEFAULT_MOVE_TIME_MILLIS);
+	}
+
+	public AlphaBetaBot(long moveTimeMillis) {
+		this(moveTimeMillis, Searcher.MAX_PLY);
+	}
+
+	public AlphaBetaBot(long moveTimeMillis, int maxDepth) {
+		this(moveTimeMillis, maxDepth, DEFAULT_HASH_SIZE_MB);
+	}
+
+	/**
+	 * @param hashSizeMb The size of the transposition table, kept between moves.
+	 */
+	public AlphaBetaBot(long moveTimeMillis, int maxDepth, int hashSizeMb) {
+		this(moveTimeMillis, maxDepth, hashSizeMb, 1);
+	}
+
+	/**
+	 * @param threads The number of threads searching each move, including the calling thread.
+	 */
+	public AlphaBetaBot(long moveTimeMillis, int maxDepth, int hashSizeMb, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The search needs at least 1 thread!");
+		}
+		this.moveTimeMillis = moveTimeMillis;
+		this.maxDepth = maxDepth;
+		this.table = new TranspositionTable(hashSizeMb);
+		this.threads = threads;
+		this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+			Thread thread = new Thread(runnable, "search-helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param verbose Whether to print the depth, score, speed and principal variation of every iteration.
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+
+	/**
+	 * @param tablebase The endgame tables to score the positions they know, or {@code null} to search them.
+	 */
+	public void setTablebase(Tablebase tablebase) {
+		this.tablebase = tablebase;
+	}
+
+	/**
+	 * @param evaluator Scores the leaves of the search, instead of {@link DefaultEvaluator#configured()}. It is shared by the search threads.
+	 */
+	public void setEvaluator(Evaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * @return The result of the last search, or {@code null} before the first move.
+	 * Its node count and speed add up all the threads.
+	 */
+	public SearchResult getLastResult() {
+		return lastResult;
+	}
+
+	public TranspositionTable getTranspositionTable() {
+		return table;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	@Override
+	public CheckersMove play(CheckersBoard board) {
+		long start = System.nanoTime();
+		long deadline = start + moveTimeMillis * 1_000_000;
+		table.newSearch();
+		AtomicBoolean stop = new AtomicBoolean();
+		List<Searcher> helperSearchers = new ArrayList<>();
+		List<Future<SearchResult>> helperResults = new ArrayList<>();
+		for (int i = 1; i < threads; i++) {
+			Searcher helper = new Searcher(board.clone(), stop, table, tablebase, evaluator);
+			int firstDepth = 1 + (i & 1);
+			helperSearchers.add(helper);
+			helperResults.add(helpers.submit(() -> helper.iterate(deadline, firstDepth, maxDepth, null)));
+		}
+
+		Searcher searcher = new Searcher(board, stop, table, tablebase, evaluator);
+		SearchResult best = searcher.iterate(deadline, 1, maxDepth, verbose ? System.out::println : null);
+		// the helpers end with the main thread, even if it stopped before the deadline
+		stop.set(true);
+		long nodes = searcher.getNodes();
+		for (int i = 0; i < helperResults.size(); i++) {
+			SearchResult helperResult = waitFor(helperResults.get(i));
+			nodes += helperSearchers.get(i).getNodes();
+			if (helperResult.getDepth() > best.getDepth()) {
+				best = helperResult;
+			}
+		}
+		lastResult = best.withTotals(nodes, System.nanoTime() - start);
+		if (verbose) {
+			System.out.println(lastResult);
+			System.out.println(table);
+		}
+		return PackedMove.toCheckersMove(lastResult.getBestMove());
+	}
+
+	/**
+	 * Stops the helper threads. The bot must not play after this.
+	 */
+	@Override
+	public void close() {
+		if (helpers != null) {
+			helpers.shutdownNow();
+		}
+	}
+
+	private static SearchResult waitFor(Future<SearchResult> result) {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a search thread!", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A search thread failed!", e.getCause());
+		}
+	}
+}
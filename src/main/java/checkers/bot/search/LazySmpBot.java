@@ -0,0 +1,14 @@
+package checkers.bot.search;
+
+/**
+ * An {@link AlphaBetaBot} that searches with one thread per available processor.
+ */
+public class LazySmpBot extends AlphaBetaBot {
+	public LazySmpBot() {
+		this(DEFAULT_MOVE_TIME_MILLIS);
+	}
+
+	public LazySmpBot(long moveTimeMillis) {
+		super(moveTimeMillis, Searcher.MAX_PLY, DEFAULT_HASH_SIZE_MB, Runtime.getRuntime().availableProcessors());
+	}
+}
@@ -0,0 +1,86 @@
+package checkers.bot.search;
+
+import checkers.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of one completed iteration of {@link Searcher}, with the
+ * statistics needed to tune the search.
+ */
+public class SearchResult {
+	private final int bestMove;
+	private final int score;
+	private final int depth;
+	private final long nodes;
+	private final long elapsedNanos;
+	private final int[] principalVariation;
+
+	SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos, int[] principalVariation) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+		this.principalVariation = principalVariation;
+	}
+
+	/**
+	 * @return A copy of this result that reports the nodes and time of all the threads of a parallel search.
+	 */
+	SearchResult withTotals(long totalNodes, long totalElapsedNanos) {
+		return new SearchResult(bestMove, score, depth, totalNodes, totalElapsedNanos, principalVariation);
+	}
+
+	/**
+	 * @return The best move, packed as described in {@link PackedMove}.
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return The score of the best move, from the point of view of the side to move.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	public long getNodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+	}
+
+	/**
+	 * @return The expected line of play, one packed move per capture or normal move.
+	 */
+	public int[] getPrincipalVariation() {
+		return Arrays.copyOf(principalVariation, principalVariation.length);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder line = new StringBuilder()//
+				.append("depth ").append(depth)//
+				.append(" score ").append(score)//
+				.append(" nodes ").append(nodes)//
+				.append(" nps ").append(getNodesPerSecond())//
+				.append(" time ").append(getElapsedMillis()).append("ms")//
+				.append(" pv");
+		for (int move : principalVariation) {
+			line.append(' ').append(PackedMove.toString(move));
+		}
+		return line.toString();
+	}
+}
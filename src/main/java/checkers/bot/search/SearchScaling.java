@@ -0,0 +1,33 @@
+package checkers.bot.search;
+
+import checkers.CheckersBoard;
+
+/**
+ * Measures how the parallel search scales: searches the same position for a
+ * fixed time with 1, 2, 4... threads up to the number of processors, and
+ * prints the speed of each run compared to the single-threaded one.
+ * <p>
+ * Usage: {@code SearchScaling [moveTimeMillis] [maxThreads]}
+ */
+public class SearchScaling {
+
+	public static void main(String[] args) {
+		long moveTimeMillis = args.length > 0 ? Long.parseLong(args[0]) : 5000;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long baseline = 0;
+		for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+			SearchResult result;
+			try (AlphaBetaBot bot = new AlphaBetaBot(moveTimeMillis, Searcher.MAX_PLY, 64, threads)) {
+				bot.play(CheckersBoard.initBoard());
+				result = bot.getLastResult();
+			}
+			if (threads == 1) {
+				baseline = result.getNodesPerSecond();
+			}
+			System.out.printf("threads %2d  depth %2d  nps %,12d  (%.2fx, %.0f%% per thread)%n",//
+					threads, result.getDepth(), result.getNodesPerSecond(),//
+					(double) result.getNodesPerSecond() / baseline,//
+					100.0 * result.getNodesPerSecond() / baseline / threads);
+		}
+	}
+}
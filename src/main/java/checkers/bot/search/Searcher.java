@@ -0,0 +1,250 @@
+package checkers.bot.search;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.eval.Evaluator;
+import checkers.tablebase.Tablebase;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A negamax alpha-beta search with iterative deepening, walking a single
+ * board with {@link CheckersBoard#makeMove(int)} and {@link CheckersBoard#unmakeMove()}.
+ * <p>
+ * The depth counts turns: the steps of a chained capture keep the same
+ * player to move, so they are searched at the same depth and their scores
+ * are not negated. Captures are forced, so leaves with a capture pending are
+ * searched further until the position is quiet.
+ * <p>
+ * Each iteration first follows the principal variation of the previous one,
+ * trying its move first at every node along it, and only there.
+ * <p>
+ * With a {@link TranspositionTable}, the stored bounds cut off positions that
+ * were already searched deep enough, and the stored best move is tried first.
+ * With a {@link Tablebase}, the positions it knows are scored exactly instead
+ * of being searched. The other leaves are scored by an {@link Evaluator}.
+ */
+class Searcher {
+	static final int MAX_PLY = 128;
+	static final int WIN = 30_000;
+
+	private static final int INFINITY = WIN + 1;
+	private static final int NODES_BETWEEN_CHECKS = 1024;
+
+	private final CheckersBoard board;
+	private final AtomicBoolean stop;
+	private final TranspositionTable table;
+	private final Tablebase tablebase;
+	private final Evaluator evaluator;
+	private final int[][] moves = new int[MAX_PLY][PackedMove.MAX_MOVES];
+	private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+	private final int[] pvLength = new int[MAX_PLY];
+	private int[] previousPv = new int[0];
+	// whether the node being searched is on the previous principal variation
+	private boolean followPv;
+
+	private long nodes;
+	private long deadline;
+	private boolean stopped;
+
+	/**
+	 * @param board The root position. It is used as the search's scratch board, and left unchanged afterwards.
+	 * @param stop Set to end the search early; the searcher also sets it when the deadline passes.
+	 * @param table The table shared with other searches, or {@code null}.
+	 * @param tablebase The endgame tables, or {@code null}.
+	 */
+	Searcher(CheckersBoard board, AtomicBoolean stop, TranspositionTable table, Tablebase tablebase, Evaluator evaluator) {
+		this.board = board;
+		this.stop = stop;
+		this.table = table;
+		this.tablebase = tablebase;
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Searches one depth deeper at a time until the deadline, the maximum depth or a forced win.
+	 * @param firstDepth The depth of the first iteration, which always completes.
+	 * @param onIteration Called with the result of every completed iteration, or {@code null}.
+	 * @return The result of the deepest completed iteration.
+	 */
+	SearchResult iterate(long deadlineNanos, int firstDepth, int maxDepth, Consumer<SearchResult> onIteration) {
+		long start = System.nanoTime();
+		deadline = deadlineNanos;
+		nodes = 0;
+		int rootCount = board.legalMoves(moves[0]);
+		if (rootCount == 0) {
+			throw new IllegalStateException("There are no moves to search!");
+		}
+		if (rootCount == 1) {
+			return new SearchResult(moves[0][0], 0, 0, 0, System.nanoTime() - start, new int[] { moves[0][0] });
+		}
+		SearchResult result = null;
+		for (int depth = firstDepth; depth <= maxDepth; depth++) {
+			// the first iteration always completes, so that there is a move to return
+			stopped = false;
+			followPv = true;
+			int score = negamax(depth, -INFINITY, INFINITY, 0, depth > firstDepth);
+			if (stopped) {
+				break;
+			}
+			previousPv = Arrays.copyOf(pv[0], pvLength[0]);
+			result = new SearchResult(previousPv[0], score, depth, nodes, System.nanoTime() - start, previousPv);
+			if (onIteration != null) {
+				onIteration.accept(result);
+			}
+			if (Math.abs(score) > WIN - MAX_PLY || stop.get()) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	long getNodes() {
+		return nodes;
+	}
+
+	private int negamax(int depth, int alpha, int beta, int ply, boolean canStop) {
+		nodes++;
+		if (canStop && (nodes % NODES_BETWEEN_CHECKS) == 0 && (stop.get() || System.nanoTime() > deadline)) {
+			stop.set(true);
+			stopped = true;
+		}
+		if (stopped) {
+			return 0;
+		}
+		pvLength[ply] = ply;
+		if (tablebase != null && ply > 0) {
+			int result = tablebase.probe(board);
+			if (result != Tablebase.UNKNOWN) {
+				return tablebaseScore(result, ply);
+			}
+		}
+		int[] nodeMoves = moves[ply];
+		int count = board.legalMoves(nodeMoves);
+		if (count == 0) {
+			return noMovesScore(ply);
+		}
+		if ((depth <= 0 && !PackedMove.isCapture(nodeMoves[0])) || ply == MAX_PLY - 1) {
+			return evaluator.evaluate(board);
+		}
+		boolean onPv = followPv && ply < previousPv.length;
+		if (onPv) {
+			moveToFront(nodeMoves, count, previousPv[ply]);
+		}
+
+		int originalAlpha = alpha;
+		long entry = table == null ? TranspositionTable.MISS : table.probe(board.zobristKey());
+		if (entry != TranspositionTable.MISS) {
+			if (ply > 0 && TranspositionTable.depth(entry) >= Math.max(depth, 0)) {
+				int score = fromTable(TranspositionTable.score(entry), ply);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.EXACT//
+						|| (bound == TranspositionTable.LOWER_BOUND && score >= beta)//
+						|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+					return score;
+				}
+			}
+			moveToFront(nodeMoves, count, TranspositionTable.move(entry));
+		}
+
+		int best = -INFINITY;
+		int bestMove = PackedMove.NONE;
+		CheckersBoard.Player mover = board.getCurrentPlayer();
+		for (int i = 0; i < count; i++) {
+			int move = nodeMoves[i];
+			followPv = onPv && move == previousPv[ply];
+			board.makeMove(move);
+			int score;
+			if (board.getCurrentPlayer() == mover) {
+				// a chained capture: the same player keeps moving in the same turn
+				score = negamax(depth, alpha, beta, ply + 1, canStop);
+			} else {
+				score = -negamax(depth - 1, -beta, -alpha, ply + 1, canStop);
+			}
+			board.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (score > best) {
+				best = score;
+				bestMove = move;
+				pv[ply][ply] = move;
+				System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+				pvLength[ply] = pvLength[ply + 1];
+			}
+			if (score > alpha) {
+				alpha = score;
+			}
+			if (alpha >= beta) {
+				break;
+			}
+		}
+		if (table != null) {
+			int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND//
+					: best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+			table.store(board.zobristKey(), depth, bound, toTable(best, ply), bestMove);
+		}
+		return best;
+	}
+
+	/**
+	 * Win scores count the plies from the root, so the table stores them
+	 * relative to the node instead, and converts them back when probed.
+	 */
+	private static int toTable(int score, int ply) {
+		if (score > WIN - MAX_PLY) {
+			return score + ply;
+		}
+		if (score < -WIN + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int fromTable(int score, int ply) {
+		if (score > WIN - MAX_PLY) {
+			return score - ply;
+		}
+		if (score < -WIN + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Mirrors {@link CheckersBoard#play}: a player who cannot move loses, unless
+	 * the opponent cannot move either, which is a tie.
+	 */
+	private int noMovesScore(int ply) {
+		CheckersBoard.Player opponent = board.otherPlayer();
+		if (board.hasLegalAction(opponent)) {
+			return -WIN + ply;
+		}
+		return 0;
+	}
+
+	/**
+	 * Scores a tablebase result like a win found by the search, counting its turns as plies.
+	 */
+	private static int tablebaseScore(int result, int ply) {
+		if (Tablebase.isWin(result)) {
+			return WIN - ply - Tablebase.distance(result);
+		}
+		if (Tablebase.isLoss(result)) {
+			return -WIN + ply + Tablebase.distance(result);
+		}
+		return 0;
+	}
+
+	private static void moveToFront(int[] moves, int count, int move) {
+		for (int i = 1; i < count; i++) {
+			if (moves[i] == move) {
+				moves[i] = moves[0];
+				moves[0] = move;
+				return;
+			}
+		}
+	}
+}
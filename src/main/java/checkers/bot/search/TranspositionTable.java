@@ -0,0 +1,164 @@
+package checkers.bot.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size hash table of search results keyed by {@link checkers.CheckersBoard#zobristKey()},
+ * which several search threads can share without locks.
+ * <p>
+ * Each slot is two {@code long}s: the entry XOR its key, then the entry. A
+ * probe only accepts the slot if XOR-ing them gives back the probed key, so a
+ * slot torn by two threads writing at once reads as a miss instead of a wrong
+ * entry. Entries are packed into a {@code long}:
+ * <ul>
+ * <li>bits 0-15: the best move, packed as in {@link checkers.PackedMove}</li>
+ * <li>bits 16-31: the score</li>
+ * <li>bits 32-39: the depth</li>
+ * <li>bits 40-41: the bound type</li>
+ * <li>bits 42-49: the search generation that stored it</li>
+ * </ul>
+ * No entry packs to {@link #MISS}, because the bound type is never 0.
+ */
+public class TranspositionTable {
+	public static final long MISS = 0;
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	private static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+	private static final int MAX_DEPTH = 0xFF;
+
+	private final long[] slots;
+	private final int indexMask;
+	private volatile int generation;
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder collisions = new LongAdder();
+	private final LongAdder overwrites = new LongAdder();
+
+	/**
+	 * @param sizeMb The memory to use, rounded down to a power of two number of slots.
+	 */
+	public TranspositionTable(int sizeMb) {
+		if (sizeMb < 1) {
+			throw new IllegalArgumentException("The table needs at least 1 MB!");
+		}
+		long slotCount = Long.highestOneBit((long) sizeMb * 1024 * 1024 / BYTES_PER_SLOT);
+		// a Java array has at most 2^31 - 1 elements, so we cap it at 2^30 slots
+		slotCount = Math.min(slotCount, 1L << 30);
+		slots = new long[(int) slotCount * 2];
+		indexMask = (int) slotCount - 1;
+	}
+
+	/**
+	 * @return The entry stored for {@code key}, or {@link #MISS}.
+	 */
+	public long probe(long key) {
+		probes.increment();
+		int index = index(key);
+		long entry = slots[index + 1];
+		if ((slots[index] ^ entry) == key && entry != MISS) {
+			hits.increment();
+			return entry;
+		}
+		if (entry != MISS) {
+			collisions.increment();
+		}
+		return MISS;
+	}
+
+	/**
+	 * Stores a result, unless the slot holds a deeper result from the current search.
+	 */
+	public void store(long key, int depth, int bound, int score, int move) {
+		int index = index(key);
+		long oldEntry = slots[index + 1];
+		boolean sameKey = (slots[index] ^ oldEntry) == key;
+		if (oldEntry != MISS && !sameKey && generation(oldEntry) == generation && depth(oldEntry) > depth) {
+			return;
+		}
+		if (oldEntry != MISS && !sameKey) {
+			overwrites.increment();
+		}
+		long entry = (move & 0xFFFFL)//
+				| ((score & 0xFFFFL) << 16)//
+				| ((long) Math.max(0, Math.min(depth, MAX_DEPTH)) << 32)//
+				| ((long) bound << 40)//
+				| ((long) generation << 42);
+		slots[index] = key ^ entry;
+		slots[index + 1] = entry;
+	}
+
+	public static int move(long entry) {
+		return (int) (entry & 0xFFFF);
+	}
+
+	public static int score(long entry) {
+		return (short) (entry >>> 16);
+	}
+
+	public static int depth(long entry) {
+		return (int) (entry >>> 32) & MAX_DEPTH;
+	}
+
+	public static int bound(long entry) {
+		return (int) (entry >>> 40) & 3;
+	}
+
+	private static int generation(long entry) {
+		return (int) (entry >>> 42) & 0xFF;
+	}
+
+	private int index(long key) {
+		return ((int) (key ^ (key >>> 32)) & indexMask) << 1;
+	}
+
+	/**
+	 * Marks the entries stored so far as old, so that the next search may replace them first.
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & 0xFF;
+	}
+
+	public void clear() {
+		Arrays.fill(slots, 0);
+		probes.reset();
+		hits.reset();
+		collisions.reset();
+		overwrites.reset();
+	}
+
+	public int getCapacity() {
+		return slots.length / 2;
+	}
+
+	public long getProbes() {
+		return probes.sum();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The probes that found a slot holding another position.
+	 */
+	public long getCollisions() {
+		return collisions.sum();
+	}
+
+	/**
+	 * @return The stores that replaced the entry of another position.
+	 */
+	public long getOverwrites() {
+		return overwrites.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "slots " + getCapacity() + " probes " + getProbes() + " hits " + getHits()//
+				+ " collisions " + getCollisions() + " overwrites " + getOverwrites();
+	}
+}
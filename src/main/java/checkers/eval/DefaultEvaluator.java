@@ -0,0 +1,254 @@
+package checkers.eval;
+
+import checkers.CheckersBitboard;
+import checkers.CheckersBoard;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * A weighted sum of features, each counted for Black minus Red:
+ * <ul>
+ * <li>{@link #MEN}: the men</li>
+ * <li>{@link #KINGS}: the kings</li>
+ * <li>{@link #ADVANCEMENT}: the rows the men have advanced from their own back row</li>
+ * <li>{@link #BACK_RANK}: the men still guarding their back row against crowning</li>
+ * <li>{@link #CENTER}: the pieces on the 8 central squares</li>
+ * <li>{@link #MOBILITY}: the normal moves, whoever is to move</li>
+ * </ul>
+ * Every feature is computed from the bitboards with population counts and
+ * shifts, in one pass and without allocating or branching.
+ * <p>
+ * The weights can be read from a file of {@code name value} lines, where
+ * {@code #} starts a comment and a missing feature keeps its default weight.
+ * The bots that are created by class name, as in tournaments, use the file
+ * named by the {@value #WEIGHTS_PROPERTY} system property, if it is set.
+ */
+public class DefaultEvaluator implements Evaluator {
+	public static final int MEN = 0;
+	public static final int KINGS = 1;
+	public static final int ADVANCEMENT = 2;
+	public static final int BACK_RANK = 3;
+	public static final int CENTER = 4;
+	public static final int MOBILITY = 5;
+	public static final int FEATURES = 6;
+	/** The system property naming the weights file of {@link #configured()}. */
+	public static final String WEIGHTS_PROPERTY = "checkers.weights";
+
+	private static final String[] NAMES = { "men", "kings", "advancement", "backRank", "center", "mobility" };
+	private static final int[] DEFAULT_WEIGHTS = { 100, 130, 2, 6, 4, 2 };
+
+	// the squares whose row has bit 0, 1 or 2 set, to add up rows with population counts
+	private static final int ROW_BIT_0 = 0xF0F0F0F0;
+	private static final int ROW_BIT_1 = 0xFF00FF00;
+	private static final int ROW_BIT_2 = 0xFFFF0000;
+	// the middle two squares of rows 2 to 5
+	private static final int CENTER_SQUARES = 0x00666600;
+
+	private final int[] weights;
+
+	public DefaultEvaluator() {
+		this(DEFAULT_WEIGHTS);
+	}
+
+	/**
+	 * @param weights One weight per feature, indexed by the feature constants. The array is copied.
+	 */
+	public DefaultEvaluator(int[] weights) {
+		if (weights.length != FEATURES) {
+			throw new IllegalArgumentException("Expected " + FEATURES + " weights, not " + weights.length + "!");
+		}
+		this.weights = weights.clone();
+	}
+
+	/**
+	 * @return The evaluator with the weights of the file named by the {@value #WEIGHTS_PROPERTY}
+	 * system property, or with the default weights if it is not set.
+	 * @throws UncheckedIOException If the file cannot be read.
+	 */
+	public static DefaultEvaluator configured() {
+		String file = System.getProperty(WEIGHTS_PROPERTY);
+		if (file == null) {
+			return new DefaultEvaluator();
+		}
+		try {
+			return load(Paths.get(file));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the weights written by {@link #save(Path)}.
+	 */
+	public static DefaultEvaluator load(Path file) throws IOException {
+		int[] weights = DEFAULT_WEIGHTS.clone();
+		try (BufferedReader in = Files.newBufferedReader(file)) {
+			int lineNumber = 0;
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				lineNumber++;
+				int comment = line.indexOf('#');
+				String[] fields = (comment < 0 ? line : line.substring(0, comment)).trim().split("\\s+");
+				if (fields[0].isEmpty()) {
+					continue;
+				}
+				int feature = Arrays.asList(NAMES).indexOf(fields[0]);
+				if (feature < 0 || fields.length != 2) {
+					throw new IOException(file + ":" + lineNumber + ": expected a feature name and a weight!");
+				}
+				try {
+					weights[feature] = Integer.parseInt(fields[1]);
+				} catch (NumberFormatException e) {
+					throw new IOException(file + ":" + lineNumber + ": invalid weight " + fields[1] + "!");
+				}
+			}
+		}
+		return new DefaultEvaluator(weights);
+	}
+
+	public void save(Path file) throws IOException {
+		try (BufferedWriter out = Files.newBufferedWriter(file)) {
+			for (int feature = 0; feature < FEATURES; feature++) {
+				out.write(NAMES[feature] + " " + weights[feature]);
+				out.newLine();
+			}
+		}
+	}
+
+	public static String featureName(int feature) {
+		return NAMES[feature];
+	}
+
+	public int getWeight(int feature) {
+		return weights[feature];
+	}
+
+	public int[] getWeights() {
+		return weights.clone();
+	}
+
+	@Override
+	public int evaluate(CheckersBoard board) {
+		int black = board.getPieces(CheckersBoard.Player.BLACK);
+		int red = board.getPieces(CheckersBoard.Player.RED);
+		int kings = board.getKings();
+		int score = weights[MEN] * men(black, red, kings)//
+				+ weights[KINGS] * kings(black, red, kings)//
+				+ weights[ADVANCEMENT] * advancement(black, red, kings)//
+				+ weights[BACK_RANK] * backRank(black, red, kings)//
+				+ weights[CENTER] * center(black, red)//
+				+ weights[MOBILITY] * mobility(black, red, kings);
+		return board.getCurrentPlayer() == CheckersBoard.Player.BLACK ? score : -score;
+	}
+
+	/**
+	 * Scores the whole batch in a single loop over its arrays, with the weights
+	 * in locals and the side to move applied as a sign, so that the loop body is
+	 * straight-line integer code that the JIT can unroll and vectorize.
+	 */
+	@Override
+	public void evaluate(PositionBatch batch, int[] scores) {
+		int menWeight = weights[MEN];
+		int kingsWeight = weights[KINGS];
+		int advancementWeight = weights[ADVANCEMENT];
+		int backRankWeight = weights[BACK_RANK];
+		int centerWeight = weights[CENTER];
+		int mobilityWeight = weights[MOBILITY];
+		int[] blackPieces = batch.blackPieces;
+		int[] redPieces = batch.redPieces;
+		int[] kings = batch.kings;
+		int[] signs = batch.signs;
+		for (int i = 0, size = batch.size(); i < size; i++) {
+			int black = blackPieces[i];
+			int red = redPieces[i];
+			int king = kings[i];
+			scores[i] = signs[i] * (menWeight * men(black, red, king)//
+					+ kingsWeight * kings(black, red, king)//
+					+ advancementWeight * advancement(black, red, king)//
+					+ backRankWeight * backRank(black, red, king)//
+					+ centerWeight * center(black, red)//
+					+ mobilityWeight * mobility(black, red, king));
+		}
+	}
+
+	/**
+	 * Writes the features of a position, for Black minus Red whoever is to move, as used by the weights.
+	 * @param features An array of at least {@link #FEATURES} elements.
+	 */
+	public static void features(CheckersBoard board, int[] features) {
+		features(board.getPieces(CheckersBoard.Player.BLACK), board.getPieces(CheckersBoard.Player.RED), board.getKings(), features, 0);
+	}
+
+	/**
+	 * Writes the features of a position into {@code features}, from {@code offset}, so that the features of many positions can share one array.
+	 */
+	public static void features(int black, int red, int kings, int[] features, int offset) {
+		features[offset + MEN] = men(black, red, kings);
+		features[offset + KINGS] = kings(black, red, kings);
+		features[offset + ADVANCEMENT] = advancement(black, red, kings);
+		features[offset + BACK_RANK] = backRank(black, red, kings);
+		features[offset + CENTER] = center(black, red);
+		features[offset + MOBILITY] = mobility(black, red, kings);
+	}
+
+	private static int men(int black, int red, int kings) {
+		return Integer.bitCount(black & ~kings) - Integer.bitCount(red & ~kings);
+	}
+
+	private static int kings(int black, int red, int kings) {
+		return Integer.bitCount(black & kings) - Integer.bitCount(red & kings);
+	}
+
+	/**
+	 * Black men advance towards row 0 and Red men towards row 7.
+	 */
+	private static int advancement(int black, int red, int kings) {
+		int blackMen = black & ~kings;
+		return 7 * Integer.bitCount(blackMen) - rowSum(blackMen) - rowSum(red & ~kings);
+	}
+
+	private static int rowSum(int mask) {
+		return Integer.bitCount(mask & ROW_BIT_0) + 2 * Integer.bitCount(mask & ROW_BIT_1) + 4 * Integer.bitCount(mask & ROW_BIT_2);
+	}
+
+	private static int backRank(int black, int red, int kings) {
+		return Integer.bitCount(black & ~kings & CheckersBitboard.BOTTOM_ROW) - Integer.bitCount(red & ~kings & CheckersBitboard.TOP_ROW);
+	}
+
+	private static int center(int black, int red) {
+		return Integer.bitCount(black & CENTER_SQUARES) - Integer.bitCount(red & CENTER_SQUARES);
+	}
+
+	/**
+	 * Counts the normal moves of each side as in {@link CheckersBoard#possibleMoves(int[])}:
+	 * a piece can step in a direction when the square there is empty.
+	 */
+	private static int mobility(int black, int red, int kings) {
+		int empty = ~(black | red);
+		int upLeft = CheckersBitboard.downRight(empty);
+		int upRight = CheckersBitboard.downLeft(empty);
+		int downLeft = CheckersBitboard.upRight(empty);
+		int downRight = CheckersBitboard.upLeft(empty);
+		int blackKings = black & kings;
+		int redKings = red & kings;
+		return Integer.bitCount(black & upLeft) + Integer.bitCount(black & upRight)//
+				+ Integer.bitCount(blackKings & downLeft) + Integer.bitCount(blackKings & downRight)//
+				- Integer.bitCount(red & downLeft) - Integer.bitCount(red & downRight)//
+				- Integer.bitCount(redKings & upLeft) - Integer.bitCount(redKings & upRight);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("DefaultEvaluator[");
+		for (int feature = 0; feature < FEATURES; feature++) {
+			builder.append(feature == 0 ? "" : ", ").append(NAMES[feature]).append('=').append(weights[feature]);
+		}
+		return builder.append(']').toString();
+	}
+}
@@ -0,0 +1,26 @@
+package checkers.eval;
+
+import checkers.CheckersBoard;
+
+/**
+ * Scores positions for a search, from the point of view of the player to move:
+ * a positive score means that player stands better, and a man is worth about 100.
+ * An evaluator is shared by the threads of a search, so it must be thread safe.
+ */
+public interface Evaluator {
+	int evaluate(CheckersBoard board);
+
+	/**
+	 * Scores every position of {@code batch} into {@code scores}. By default the
+	 * positions are scored one at a time on a scratch board; implementations can
+	 * work on the arrays of the batch directly instead.
+	 * @param scores An array of at least {@link PositionBatch#size()} elements.
+	 */
+	default void evaluate(PositionBatch batch, int[] scores) {
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int i = 0; i < batch.size(); i++) {
+			board.setPosition(batch.getBlackPieces(i), batch.getRedPieces(i), batch.getKings(i), batch.getPlayerToMove(i));
+			scores[i] = evaluate(board);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package checkers.eval;
+
+import checkers.CheckersBitboard;
+import checkers.CheckersBoard;
+
+import java.util.Arrays;
+
+/**
+ * Many positions stored as parallel arrays of {@link CheckersBitboard} masks,
+ * rather than as boards, so that an {@link Evaluator} can score them in a loop
+ * over plain {@code int} arrays. A batch can be cleared and refilled without
+ * allocating.
+ */
+public class PositionBatch {
+	int[] blackPieces;
+	int[] redPieces;
+	int[] kings;
+	// +1 when Black is to move, -1 when Red is
+	int[] signs;
+	private int size;
+
+	public PositionBatch(int capacity) {
+		blackPieces = new int[capacity];
+		redPieces = new int[capacity];
+		kings = new int[capacity];
+		signs = new int[capacity];
+	}
+
+	/**
+	 * Adds a position. A capture in progress is not kept.
+	 */
+	public void add(CheckersBoard board) {
+		add(board.getPieces(CheckersBoard.Player.BLACK), board.getPieces(CheckersBoard.Player.RED), board.getKings(), board.getCurrentPlayer());
+	}
+
+	public void add(int blackPieces, int redPieces, int kings, CheckersBoard.Player toMove) {
+		if (size == signs.length) {
+			int capacity = Math.max(16, size * 2);
+			this.blackPieces = Arrays.copyOf(this.blackPieces, capacity);
+			this.redPieces = Arrays.copyOf(this.redPieces, capacity);
+			this.kings = Arrays.copyOf(this.kings, capacity);
+			signs = Arrays.copyOf(signs, capacity);
+		}
+		this.blackPieces[size] = blackPieces;
+		this.redPieces[size] = redPieces;
+		this.kings[size] = kings;
+		signs[size] = toMove == CheckersBoard.Player.BLACK ? 1 : -1;
+		size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public int getBlackPieces(int index) {
+		return blackPieces[index];
+	}
+
+	public int getRedPieces(int index) {
+		return redPieces[index];
+	}
+
+	public int getKings(int index) {
+		return kings[index];
+	}
+
+	public CheckersBoard.Player getPlayerToMove(int index) {
+		return signs[index] > 0 ? CheckersBoard.Player.BLACK : CheckersBoard.Player.RED;
+	}
+}
@@ -0,0 +1,9 @@
+package checkers.exception;
+
+import java.io.IOException;
+
+public class PdnException extends IOException {
+	public PdnException(String message) {
+		super(message);
+	}
+}
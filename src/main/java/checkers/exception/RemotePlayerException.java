@@ -0,0 +1,10 @@
+package checkers.exception;
+
+/**
+ * Thrown when a remote player does not answer in time, disconnects or breaks the protocol.
+ */
+public class RemotePlayerException extends RuntimeException {
+	public RemotePlayerException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,182 @@
+package checkers.pdn;
+
+import checkers.CheckersBitboard;
+import checkers.CheckersBoard;
+import checkers.exception.PdnException;
+
+import java.util.Optional;
+
+/**
+ * Conversions between {@link CheckersBoard} and Portable Draughts Notation.
+ * <p>
+ * PDN numbers the playable squares from 1 to 32, starting from the far corner
+ * of the first player: Black starts on squares 1 to 12 and Red, which PDN calls
+ * White, on squares 21 to 32. Since Black starts at the bottom of {@link CheckersBoard},
+ * the PDN square of the {@link CheckersBitboard} square {@code s} is {@code 32 - s}.
+ * <p>
+ * A FEN tag gives the player to move, then the squares of each color, with a
+ * {@code K} before the kings: {@code B:W21,22,K30:B1-3,K9}.
+ */
+public final class Pdn {
+	public static final String BLACK_WINS = "1-0";
+	public static final String RED_WINS = "0-1";
+	public static final String DRAW = "1/2-1/2";
+	public static final String UNKNOWN_RESULT = "*";
+
+	private Pdn() {
+	}
+
+	/**
+	 * @return The {@link CheckersBitboard} square of a PDN square from 1 to 32.
+	 */
+	public static int square(int pdnSquare) {
+		return 32 - pdnSquare;
+	}
+
+	/**
+	 * @return The PDN square, from 1 to 32, of a {@link CheckersBitboard} square.
+	 */
+	public static int pdnSquare(int square) {
+		return 32 - square;
+	}
+
+	/**
+	 * @return The result tag of a game, where the first player is Black.
+	 */
+	public static String result(Optional<CheckersBoard.Player> loser) {
+		return loser.map(player -> player == CheckersBoard.Player.RED ? BLACK_WINS : RED_WINS).orElse(DRAW);
+	}
+
+	/**
+	 * @return Whether a position is the one of {@link CheckersBoard#initBoard()}.
+	 */
+	public static boolean isInitialPosition(CheckersBoard board) {
+		return board.equals(InitialPosition.BOARD);
+	}
+
+	/**
+	 * Reads a FEN position. Square ranges such as {@code 1-12} are accepted.
+	 * @throws PdnException If the position is malformed or impossible, or a square is given twice.
+	 */
+	public static CheckersBoard parseFen(CharSequence fen) throws PdnException {
+		int[] pieces = new int[2];
+		int kings = 0;
+		int length = fen.length();
+		int i = skipSpaces(fen, 0);
+		if (i == length) {
+			throw new PdnException("The FEN position is empty!");
+		}
+		CheckersBoard.Player toMove = color(fen, i++);
+		while (true) {
+			i = skipSpaces(fen, i);
+			if (i == length || fen.charAt(i) == '.') {
+				break;
+			}
+			if (fen.charAt(i++) != ':') {
+				throw new PdnException("Expected ':' at " + (i - 1) + " in the FEN position " + fen);
+			}
+			i = skipSpaces(fen, i);
+			if (i == length) {
+				break;
+			}
+			int side = color(fen, i++) == CheckersBoard.Player.BLACK ? 0 : 1;
+			while (i < length && fen.charAt(i) != ':' && fen.charAt(i) != '.') {
+				i = skipSpaces(fen, i);
+				boolean king = i < length && (fen.charAt(i) == 'K' || fen.charAt(i) == 'k');
+				if (king) {
+					i++;
+				}
+				int first = 0;
+				int start = i;
+				for (; i < length && Character.isDigit(fen.charAt(i)); i++) {
+					first = first * 10 + fen.charAt(i) - '0';
+				}
+				if (i == start) {
+					// an empty list, as in "W:W:B1"
+					break;
+				}
+				int last = first;
+				if (i < length && fen.charAt(i) == '-') {
+					last = 0;
+					for (i++; i < length && Character.isDigit(fen.charAt(i)); i++) {
+						last = last * 10 + fen.charAt(i) - '0';
+					}
+				}
+				if (first < 1 || last > 32 || last < first) {
+					throw new PdnException("Invalid square " + first + (last == first ? "" : "-" + last) + " in the FEN position " + fen);
+				}
+				for (int pdnSquare = first; pdnSquare <= last; pdnSquare++) {
+					int bit = 1 << square(pdnSquare);
+					if (((pieces[0] | pieces[1]) & bit) != 0) {
+						throw new PdnException("Square " + pdnSquare + " is given twice in the FEN position " + fen);
+					}
+					pieces[side] |= bit;
+					if (king) {
+						kings |= bit;
+					}
+				}
+				i = skipSpaces(fen, i);
+				if (i < length && fen.charAt(i) == ',') {
+					i++;
+				}
+			}
+		}
+		try {
+			return CheckersBoard.of(pieces[0], pieces[1], kings, toMove);
+		} catch (IllegalArgumentException e) {
+			throw new PdnException("Impossible FEN position " + fen + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return The FEN of a position, listing Red then Black in ascending squares.
+	 */
+	public static String fen(CheckersBoard board) {
+		StringBuilder fen = new StringBuilder(128);
+		fen.append(board.getCurrentPlayer() == CheckersBoard.Player.BLACK ? 'B' : 'W');
+		appendPieces(fen.append(":W"), board.getPieces(CheckersBoard.Player.RED), board.getKings());
+		appendPieces(fen.append(":B"), board.getPieces(CheckersBoard.Player.BLACK), board.getKings());
+		return fen.toString();
+	}
+
+	private static void appendPieces(StringBuilder fen, int pieces, int kings) {
+		boolean first = true;
+		// ascending PDN squares are descending bitboard squares
+		for (int square = CheckersBitboard.SQUARES - 1; square >= 0; square--) {
+			int bit = 1 << square;
+			if ((pieces & bit) == 0) {
+				continue;
+			}
+			if (!first) {
+				fen.append(',');
+			}
+			first = false;
+			if ((kings & bit) != 0) {
+				fen.append('K');
+			}
+			fen.append(pdnSquare(square));
+		}
+	}
+
+	private static CheckersBoard.Player color(CharSequence fen, int i) throws PdnException {
+		char color = i < fen.length() ? Character.toUpperCase(fen.charAt(i)) : ' ';
+		if (color == 'B') {
+			return CheckersBoard.Player.BLACK;
+		}
+		if (color == 'W' || color == 'R') {
+			return CheckersBoard.Player.RED;
+		}
+		throw new PdnException("Expected a color at " + i + " in the FEN position " + fen);
+	}
+
+	private static int skipSpaces(CharSequence text, int i) {
+		while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static class InitialPosition {
+		static final CheckersBoard BOARD = CheckersBoard.initBoard();
+	}
+}
@@ -0,0 +1,99 @@
+package checkers.pdn;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.exception.PdnException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A game read from or written to PDN: its tags, its moves and its result.
+ * Each step of a chained capture is a move of its own, as in {@link checkers.record.GameRecord}.
+ */
+public class PdnGame {
+	public static final String FEN_TAG = "FEN";
+	public static final String RESULT_TAG = "Result";
+
+	private final Map<String, String> tags;
+	private final int[] moves;
+	private final String result;
+
+	/**
+	 * @param tags The tags of the game, in order. The map is copied.
+	 * @param moves The moves of the game, packed as described in {@link PackedMove}. The array is not copied.
+	 * @param result One of the results of {@link Pdn}.
+	 */
+	public PdnGame(Map<String, String> tags, int[] moves, String result) {
+		this.tags = new LinkedHashMap<>(tags);
+		this.moves = moves;
+		this.result = result;
+	}
+
+	/**
+	 * @return The value of a tag, or {@code null} if the game does not have it.
+	 */
+	public String getTag(String name) {
+		return tags.get(name);
+	}
+
+	public Map<String, String> getTags() {
+		return Collections.unmodifiableMap(tags);
+	}
+
+	public int getMoveCount() {
+		return moves.length;
+	}
+
+	/**
+	 * @return The move of the given ply, packed as described in {@link PackedMove}.
+	 */
+	public int getMove(int ply) {
+		return moves[ply];
+	}
+
+	public int[] getMoves() {
+		return moves.clone();
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	/**
+	 * @return The color that lost, or {@code Optional.empty()} for a draw or an unknown result.
+	 */
+	public Optional<CheckersBoard.Player> getLoser() {
+		switch (result) {
+		case Pdn.BLACK_WINS:
+			return Optional.of(CheckersBoard.Player.RED);
+		case Pdn.RED_WINS:
+			return Optional.of(CheckersBoard.Player.BLACK);
+		default:
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @return The position of the FEN tag, or {@link CheckersBoard#initBoard()} if there is none.
+	 * @throws PdnException If the FEN tag is malformed.
+	 */
+	public CheckersBoard startingPosition() throws PdnException {
+		String fen = tags.get(FEN_TAG);
+		return fen == null ? CheckersBoard.initBoard() : Pdn.parseFen(fen);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (Map.Entry<String, String> tag : tags.entrySet()) {
+			builder.append('[').append(tag.getKey()).append(" \"").append(tag.getValue()).append("\"] ");
+		}
+		for (int move : moves) {
+			builder.append(PackedMove.toString(move)).append(' ');
+		}
+		return builder.append(result).toString();
+	}
+}
@@ -0,0 +1,358 @@
+package checkers.pdn;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.exception.PdnException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the games of a PDN stream, one at a time, so that a database of any
+ * size can be read in constant memory. The text is scanned one character at a
+ * time from a buffer of its own, without regular expressions or intermediate
+ * strings for the moves.
+ * <p>
+ * Move numbers, comments, variations and annotations are skipped. A move is
+ * given by its squares, separated by {@code -} or {@code x}: {@code 11-15},
+ * {@code 18x11x4}. A multiple capture may also only give its first and last
+ * squares, {@code 18x4}; the steps between them are found by playing the
+ * captures that lead there. Every move is checked against the legal moves of
+ * the position.
+ */
+public class PdnReader implements Closeable {
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private static final int EOF = -1;
+	// the squares of a move, and the most captures of a turn
+	private static final int MAX_SQUARES = 16;
+
+	private final Reader in;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private int line = 1;
+
+	private final int[] squares = new int[MAX_SQUARES];
+	private final int[][] legalMoves = new int[MAX_SQUARES][PackedMove.MAX_MOVES];
+	private final StringBuilder text = new StringBuilder();
+	private int[] moves = new int[256];
+	private int moveCount;
+
+	public PdnReader(Reader in) {
+		this.in = in;
+	}
+
+	/**
+	 * @return The next game, or {@code null} at the end of the stream.
+	 * @throws PdnException If the game is malformed or holds an illegal move, with the line where it happened.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	public PdnGame read() throws IOException {
+		skipSpacesAndComments();
+		if (peek() == EOF) {
+			return null;
+		}
+		Map<String, String> tags = new LinkedHashMap<>();
+		while (peek() == '[') {
+			readTag(tags);
+			skipSpacesAndComments();
+		}
+		String fen = tags.get(PdnGame.FEN_TAG);
+		CheckersBoard board;
+		try {
+			board = fen == null ? CheckersBoard.initBoard() : Pdn.parseFen(fen);
+		} catch (PdnException e) {
+			throw error(e.getMessage());
+		}
+		moveCount = 0;
+		String result = readMoves(board);
+		if (result == null) {
+			// a game cut short by the end of the stream or by the tags of the next game
+			result = tags.getOrDefault(PdnGame.RESULT_TAG, Pdn.UNKNOWN_RESULT);
+		}
+		return new PdnGame(tags, Arrays.copyOf(moves, moveCount), result);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private void readTag(Map<String, String> tags) throws IOException {
+		next();
+		skipSpaces();
+		text.setLength(0);
+		for (int c = peek(); c != EOF && c != '"' && c != ']' && !Character.isWhitespace(c); c = peek()) {
+			text.append((char) next());
+		}
+		if (text.length() == 0) {
+			throw error("Expected a tag name");
+		}
+		String name = text.toString();
+		skipSpaces();
+		if (next() != '"') {
+			throw error("Expected the value of the tag " + name);
+		}
+		text.setLength(0);
+		for (int c = next(); c != '"'; c = next()) {
+			if (c == '\\') {
+				c = next();
+			}
+			if (c == EOF || c == '\n') {
+				throw error("The value of the tag " + name + " is not closed");
+			}
+			text.append((char) c);
+		}
+		skipSpaces();
+		if (next() != ']') {
+			throw error("Expected ']' after the tag " + name);
+		}
+		tags.put(name, text.toString());
+	}
+
+	/**
+	 * Plays the moves of the move text on {@code board}.
+	 * @return The result that ends the move text, or {@code null} if it ends without one.
+	 */
+	private String readMoves(CheckersBoard board) throws IOException {
+		while (true) {
+			skipSpacesAndComments();
+			int c = peek();
+			if (c == EOF || c == '[') {
+				return null;
+			}
+			if (c == '*') {
+				next();
+				return Pdn.UNKNOWN_RESULT;
+			}
+			if (c == '$') {
+				// a numeric annotation
+				next();
+				while (isDigit(peek())) {
+					next();
+				}
+			} else if (c == '!' || c == '?') {
+				next();
+			} else if (isDigit(c)) {
+				String result = readNumberedToken(board);
+				if (result != null) {
+					return result;
+				}
+			} else {
+				throw error("Unexpected character '" + (char) c + "'");
+			}
+		}
+	}
+
+	/**
+	 * Reads a move number, a move or a result.
+	 * @return The result, or {@code null} if the token was not a result.
+	 */
+	private String readNumberedToken(CheckersBoard board) throws IOException {
+		int first = readNumber();
+		int c = peek();
+		if (c == '.') {
+			while (peek() == '.') {
+				next();
+			}
+			return null;
+		}
+		if (c == '/') {
+			// the only result with a fraction
+			text.setLength(0);
+			text.append(first);
+			while (peek() != EOF && !Character.isWhitespace(peek())) {
+				text.append((char) next());
+			}
+			if (!text.toString().equals(Pdn.DRAW)) {
+				throw error("Unexpected result " + text);
+			}
+			return Pdn.DRAW;
+		}
+		int count = 0;
+		squares[count++] = first;
+		while (peek() == '-' || peek() == 'x' || peek() == 'X' || peek() == ':') {
+			next();
+			if (!isDigit(peek())) {
+				throw error("Expected a square");
+			}
+			if (count == MAX_SQUARES) {
+				throw error("The move has too many squares");
+			}
+			squares[count++] = readNumber();
+		}
+		if (count == 1) {
+			throw error("Expected a move after " + first);
+		}
+		// the squares are numbered from 1, so a pair with a 0 or twice the same number is a score
+		if (count == 2 && (squares[0] == 0 || squares[1] == 0 || squares[0] == squares[1])) {
+			return squares[0] > squares[1] ? Pdn.BLACK_WINS : squares[0] < squares[1] ? Pdn.RED_WINS : Pdn.DRAW;
+		}
+		for (int i = 0; i < count; i++) {
+			if (squares[i] < 1 || squares[i] > 32) {
+				throw error("Invalid square " + squares[i]);
+			}
+			squares[i] = Pdn.square(squares[i]);
+		}
+		int before = moveCount;
+		if (!playTurn(board, 0, squares[0], 1, count)) {
+			moveCount = before;
+			throw error("Illegal move " + moveText(count) + " for " + board.getCurrentPlayer());
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the steps of a turn that go through the given squares in order,
+	 * and plays them. Squares may be left out between those of a chained capture.
+	 * @return Whether such steps were found.
+	 */
+	private boolean playTurn(CheckersBoard board, int depth, int from, int next, int count) {
+		if (depth == MAX_SQUARES) {
+			return false;
+		}
+		int[] stepMoves = legalMoves[depth];
+		int legalCount = board.legalMoves(stepMoves);
+		for (int i = 0; i < legalCount; i++) {
+			int move = stepMoves[i];
+			if (PackedMove.from(move) != from) {
+				continue;
+			}
+			int to = PackedMove.to(move);
+			int reached = to == squares[next] ? next + 1 : next;
+			board.makeMove(move);
+			addMove(move);
+			if (board.isCaptureLock() ? reached < count && playTurn(board, depth + 1, to, reached, count) : reached == count) {
+				return true;
+			}
+			board.unmakeMove();
+			moveCount--;
+		}
+		return false;
+	}
+
+	private void addMove(int move) {
+		if (moveCount == moves.length) {
+			moves = Arrays.copyOf(moves, moveCount * 2);
+		}
+		moves[moveCount++] = move;
+	}
+
+	private String moveText(int count) {
+		StringBuilder move = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				move.append('-');
+			}
+			move.append(Pdn.pdnSquare(squares[i]));
+		}
+		return move.toString();
+	}
+
+	private int readNumber() throws IOException {
+		int number = 0;
+		while (isDigit(peek())) {
+			number = number * 10 + next() - '0';
+			if (number > 1_000_000) {
+				throw error("Number too large");
+			}
+		}
+		return number;
+	}
+
+	private void skipSpacesAndComments() throws IOException {
+		while (true) {
+			skipSpaces();
+			int c = peek();
+			if (c == '{') {
+				skipComment();
+			} else if (c == ';') {
+				// a comment up to the end of the line
+				while (peek() != EOF && peek() != '\n') {
+					next();
+				}
+			} else if (c == '(') {
+				skipVariation();
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void skipComment() throws IOException {
+		int start = line;
+		for (int c = next(); c != '}'; c = next()) {
+			if (c == EOF) {
+				throw new PdnException("Line " + start + ": the comment is not closed!");
+			}
+		}
+	}
+
+	private void skipVariation() throws IOException {
+		int start = line;
+		int depth = 0;
+		do {
+			int c = peek();
+			if (c == EOF) {
+				throw new PdnException("Line " + start + ": the variation is not closed!");
+			}
+			if (c == '{') {
+				skipComment();
+				continue;
+			}
+			next();
+			if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			}
+		} while (depth > 0);
+	}
+
+	private void skipSpaces() throws IOException {
+		while (peek() != EOF && Character.isWhitespace(peek())) {
+			next();
+		}
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private int peek() throws IOException {
+		if (position == limit && !fill()) {
+			return EOF;
+		}
+		return buffer[position];
+	}
+
+	private int next() throws IOException {
+		if (position == limit && !fill()) {
+			return EOF;
+		}
+		char c = buffer[position++];
+		if (c == '\n') {
+			line++;
+		}
+		return c;
+	}
+
+	private boolean fill() throws IOException {
+		int read = in.read(buffer, 0, buffer.length);
+		if (read <= 0) {
+			return false;
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	private PdnException error(String message) {
+		return new PdnException("Line " + line + ": " + message + "!");
+	}
+}
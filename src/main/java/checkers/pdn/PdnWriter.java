@@ -0,0 +1,141 @@
+package checkers.pdn;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.exception.PdnException;
+import checkers.record.GameRecord;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Writes games as PDN, one after the other, so that they can be read by
+ * {@link PdnReader} and by other draughts programs.
+ * <p>
+ * Each turn is written as one move, with all the steps of a chained capture:
+ * {@code 18x11x4}. A game that does not start from {@link CheckersBoard#initBoard()}
+ * gets a FEN tag, and every game gets a Result tag.
+ */
+public class PdnWriter implements Closeable, Flushable {
+	private static final int LINE_LENGTH = 79;
+
+	private final Writer out;
+	private final StringBuilder text = new StringBuilder(1024);
+	private int lineStart;
+
+	public PdnWriter(Writer out) {
+		this.out = new BufferedWriter(out, PdnReader.BUFFER_SIZE);
+	}
+
+	/**
+	 * @throws PdnException If the FEN tag of the game is malformed.
+	 */
+	public void write(PdnGame game) throws IOException {
+		write(game.getTags(), game.startingPosition(), game.getMoves(), game.getMoveCount(), game.getResult());
+	}
+
+	/**
+	 * Writes a recorded game, with only a Result tag.
+	 */
+	public void write(GameRecord game) throws IOException {
+		write(Collections.emptyMap(), CheckersBoard.initBoard(), game.getMoves(), game.getMoveCount(), Pdn.result(game.getLoser()));
+	}
+
+	/**
+	 * @param tags The tags to write. The FEN and Result tags are written from {@code start} and {@code result} instead.
+	 * @param start The position of the first move. It is used as a scratch board.
+	 * @param moves The moves of the game, packed as described in {@link PackedMove}.
+	 * @throws IllegalArgumentException If a move is illegal.
+	 */
+	public void write(Map<String, String> tags, CheckersBoard start, int[] moves, int count, String result) throws IOException {
+		text.setLength(0);
+		for (Map.Entry<String, String> tag : tags.entrySet()) {
+			if (!tag.getKey().equals(PdnGame.FEN_TAG) && !tag.getKey().equals(PdnGame.RESULT_TAG)) {
+				appendTag(tag.getKey(), tag.getValue());
+			}
+		}
+		if (!Pdn.isInitialPosition(start)) {
+			appendTag(PdnGame.FEN_TAG, Pdn.fen(start));
+		}
+		appendTag(PdnGame.RESULT_TAG, result);
+		lineStart = text.length();
+		CheckersBoard board = start;
+		int moveNumber = 1;
+		int[] legalMoves = new int[PackedMove.MAX_MOVES];
+		for (int ply = 0; ply < count;) {
+			StringBuilder turn = new StringBuilder(16);
+			if (board.getCurrentPlayer() == CheckersBoard.Player.BLACK) {
+				turn.append(moveNumber).append(". ");
+			} else if (ply == 0) {
+				turn.append(moveNumber).append("... ");
+			}
+			if (board.getCurrentPlayer() == CheckersBoard.Player.RED) {
+				moveNumber++;
+			}
+			turn.append(Pdn.pdnSquare(PackedMove.from(moves[ply])));
+			// the steps of a chained capture all belong to the same turn
+			do {
+				int move = moves[ply];
+				if (!isLegal(board, move, legalMoves)) {
+					throw new IllegalArgumentException("Move " + (ply + 1) + " of the game, " + PackedMove.toString(move) + ", is illegal!");
+				}
+				turn.append(PackedMove.isCapture(move) ? 'x' : '-').append(Pdn.pdnSquare(PackedMove.to(move)));
+				board.makeMove(move);
+				ply++;
+			} while (board.isCaptureLock() && ply < count);
+			appendWord(turn);
+		}
+		appendWord(result);
+		text.append("\n\n");
+		out.write(text.toString());
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	private void appendTag(String name, String value) {
+		text.append('[').append(name).append(" \"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				text.append('\\');
+			}
+			text.append(c);
+		}
+		text.append("\"]\n");
+	}
+
+	private void appendWord(CharSequence word) {
+		if (text.length() > lineStart) {
+			if (text.length() - lineStart + 1 + word.length() > LINE_LENGTH) {
+				text.append('\n');
+				lineStart = text.length();
+			} else {
+				text.append(' ');
+			}
+		}
+		text.append(word);
+	}
+
+	private static boolean isLegal(CheckersBoard board, int move, int[] legalMoves) {
+		int count = board.legalMoves(legalMoves);
+		for (int i = 0; i < count; i++) {
+			if (legalMoves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,220 @@
+package checkers.perft;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the move paths to a given depth, to check the move generator
+ * against known counts and to measure its speed.
+ * <p>
+ * A depth is one turn: the steps of a chained capture are followed on the
+ * same turn, and every distinct sequence of steps is a separate path. These
+ * are the usual rules of checkers perft, so the counts of the starting
+ * position can be compared with published ones.
+ * <p>
+ * Usage: {@code Perft [-depth N] [-divide] [-parallel] [-hash MB]}
+ */
+public class Perft {
+	static final int MAX_PLY = 128;
+
+	/**
+	 * The published counts for the starting position, by depth.
+	 */
+	private static final long[] STARTING_POSITION_COUNTS = { 1L, 7L, 49L, 302L, 1469L, 7361L, 36768L, 179740L, 845931L,
+			3963680L, 18391564L, 85242128L, 388623673L, 1766623630L, 7978439499L, 36263167175L };
+
+	// below this depth, a parallel perft counts the subtree on the current thread
+	private static final int SERIAL_DEPTH = 5;
+
+	private final PerftTable table;
+	private final int[][] moves = new int[MAX_PLY][PackedMove.MAX_MOVES];
+
+	/**
+	 * @param hashSizeMb The size of the table caching subtree counts, or 0 for none.
+	 */
+	public Perft(int hashSizeMb) {
+		this.table = hashSizeMb > 0 ? new PerftTable(hashSizeMb) : null;
+	}
+
+	private Perft(PerftTable table) {
+		this.table = table;
+	}
+
+	/**
+	 * @return The number of move paths of {@code depth} turns from {@code board}, which is left unchanged.
+	 */
+	public long count(CheckersBoard board, int depth) {
+		return count(board, depth, 0);
+	}
+
+	/**
+	 * Same as {@link #count(CheckersBoard, int)}, splitting the subtrees across the threads of {@code pool}.
+	 */
+	public long countInParallel(CheckersBoard board, int depth, ForkJoinPool pool) {
+		return pool.invoke(new SubtreeTask(board.clone(), depth, table));
+	}
+
+	/**
+	 * @return The count of every first step from {@code board}, in the order of {@link CheckersBoard#legalMoves(int[])}.
+	 */
+	public List<DivideEntry> divide(CheckersBoard board, int depth) {
+		List<DivideEntry> entries = new ArrayList<>();
+		int[] rootMoves = new int[PackedMove.MAX_MOVES];
+		int count = board.legalMoves(rootMoves);
+		for (int i = 0; i < count; i++) {
+			board.makeMove(rootMoves[i]);
+			long nodes = count(board, board.isCaptureLock() ? depth : depth - 1, 1);
+			board.unmakeMove();
+			entries.add(new DivideEntry(rootMoves[i], nodes));
+		}
+		return entries;
+	}
+
+	private long count(CheckersBoard board, int depth, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		if (table != null) {
+			long cached = table.probe(board.zobristKey(), depth);
+			if (cached != PerftTable.MISS) {
+				return cached;
+			}
+		}
+		int[] nodeMoves = moves[ply];
+		int count = board.legalMoves(nodeMoves);
+		long nodes;
+		if (depth == 1 && (count == 0 || !PackedMove.isCapture(nodeMoves[0]))) {
+			// normal moves always end the turn, so each one is a leaf
+			nodes = count;
+		} else {
+			nodes = 0;
+			for (int i = 0; i < count; i++) {
+				board.makeMove(nodeMoves[i]);
+				nodes += count(board, board.isCaptureLock() ? depth : depth - 1, ply + 1);
+				board.unmakeMove();
+			}
+		}
+		if (table != null) {
+			table.store(board.zobristKey(), depth, nodes);
+		}
+		return nodes;
+	}
+
+	/**
+	 * @return The published count of the starting position at {@code depth}, or -1 if it is not known.
+	 */
+	public static long startingPositionCount(int depth) {
+		return depth < STARTING_POSITION_COUNTS.length ? STARTING_POSITION_COUNTS[depth] : -1;
+	}
+
+	public static class DivideEntry {
+		private final int move;
+		private final long nodes;
+
+		DivideEntry(int move, long nodes) {
+			this.move = move;
+			this.nodes = nodes;
+		}
+
+		/**
+		 * @return The first step, packed as described in {@link PackedMove}.
+		 */
+		public int getMove() {
+			return move;
+		}
+
+		public long getNodes() {
+			return nodes;
+		}
+
+		@Override
+		public String toString() {
+			return PackedMove.toString(move) + ": " + nodes;
+		}
+	}
+
+	private static class SubtreeTask extends RecursiveTask<Long> {
+		private final CheckersBoard board;
+		private final int depth;
+		private final PerftTable table;
+
+		SubtreeTask(CheckersBoard board, int depth, PerftTable table) {
+			this.board = board;
+			this.depth = depth;
+			this.table = table;
+		}
+
+		@Override
+		protected Long compute() {
+			if (depth < SERIAL_DEPTH) {
+				return new Perft(table).count(board, depth, 0);
+			}
+			int[] nodeMoves = new int[PackedMove.MAX_MOVES];
+			int count = board.legalMoves(nodeMoves);
+			List<SubtreeTask> subtrees = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				CheckersBoard child = board.clone();
+				child.makeMove(nodeMoves[i]);
+				subtrees.add(new SubtreeTask(child, child.isCaptureLock() ? depth : depth - 1, table));
+			}
+			long nodes = 0;
+			for (SubtreeTask subtree : invokeAll(subtrees)) {
+				nodes += subtree.join();
+			}
+			return nodes;
+		}
+	}
+
+	public static void main(String[] args) {
+		int maxDepth = 10;
+		boolean divide = false;
+		boolean parallel = false;
+		int hashSizeMb = 0;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-depth":
+				maxDepth = Integer.parseInt(args[++i]);
+				break;
+			case "-divide":
+				divide = true;
+				break;
+			case "-parallel":
+				parallel = true;
+				break;
+			case "-hash":
+				hashSizeMb = Integer.parseInt(args[++i]);
+				break;
+			default:
+				System.err.println("Usage: Perft [-depth N] [-divide] [-parallel] [-hash MB]");
+				System.exit(1);
+			}
+		}
+		CheckersBoard board = CheckersBoard.initBoard();
+		if (divide) {
+			Perft perft = new Perft(hashSizeMb);
+			long total = 0;
+			for (DivideEntry entry : perft.divide(board, maxDepth)) {
+				System.out.println(entry);
+				total += entry.getNodes();
+			}
+			System.out.println("total: " + total);
+			return;
+		}
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			// a fresh table per depth, so that every depth is timed from scratch
+			Perft perft = new Perft(hashSizeMb);
+			long start = System.nanoTime();
+			long nodes = parallel ? perft.countInParallel(board, depth, ForkJoinPool.commonPool()) : perft.count(board, depth);
+			long elapsedNanos = Math.max(1, System.nanoTime() - start);
+			long expected = startingPositionCount(depth);
+			System.out.printf("depth %2d  nodes %,16d  time %,8d ms  nps %,14d  %s%n", depth, nodes, elapsedNanos / 1_000_000,//
+					nodes * 1_000_000_000L / elapsedNanos,//
+					expected < 0 ? "" : expected == nodes ? "OK" : "MISMATCH (expected " + expected + ")");
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package checkers.perft;
+
+import java.util.SplittableRandom;
+
+/**
+ * Caches the leaf counts of subtrees, keyed by position and depth. Like the
+ * search's transposition table, each slot stores the count XOR its key next to
+ * the count, so threads can share the table without locks and a torn slot
+ * reads as a miss.
+ */
+class PerftTable {
+	static final long MISS = -1;
+
+	private static final long[] DEPTH_KEYS = new long[Perft.MAX_PLY];
+
+	static {
+		SplittableRandom random = new SplittableRandom(0xD1CEL);
+		for (int depth = 0; depth < DEPTH_KEYS.length; depth++) {
+			DEPTH_KEYS[depth] = random.nextLong();
+		}
+	}
+
+	private final long[] slots;
+	private final int indexMask;
+
+	PerftTable(int sizeMb) {
+		long slotCount = Long.highestOneBit(Math.max(1, (long) sizeMb * 1024 * 1024 / (2 * Long.BYTES)));
+		slotCount = Math.min(slotCount, 1L << 30);
+		slots = new long[(int) slotCount * 2];
+		indexMask = (int) slotCount - 1;
+		// an empty slot must not match the key 0
+		for (int i = 0; i < slots.length; i += 2) {
+			slots[i] = MISS;
+		}
+	}
+
+	long probe(long positionKey, int depth) {
+		long key = positionKey ^ DEPTH_KEYS[depth];
+		int index = index(key);
+		long count = slots[index + 1];
+		return (slots[index] ^ count) == key ? count : MISS;
+	}
+
+	void store(long positionKey, int depth, long count) {
+		long key = positionKey ^ DEPTH_KEYS[depth];
+		int index = index(key);
+		slots[index] = key ^ count;
+		slots[index + 1] = count;
+	}
+
+	private int index(long key) {
+		return ((int) (key ^ (key >>> 32)) & indexMask) << 1;
+	}
+}
@@ -0,0 +1,89 @@
+package checkers.record;
+
+import checkers.CheckersBoard;
+import checkers.GameListener;
+import checkers.PackedMove;
+import checkers.exception.BadMoveException;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The moves and the result of a game played from {@link CheckersBoard#initBoard()}.
+ * Each step of a chained capture is a move of its own.
+ */
+public class GameRecord {
+	private final int[] moves;
+	private final Optional<CheckersBoard.Player> loser;
+	private final GameListener.GameEndReason reason;
+
+	/**
+	 * @param moves The moves of the game, packed as described in {@link PackedMove}. The array is not copied.
+	 * @param loser The color that lost, or {@code Optional.empty()} if there is a tie.
+	 */
+	public GameRecord(int[] moves, Optional<CheckersBoard.Player> loser, GameListener.GameEndReason reason) {
+		this.moves = moves;
+		this.loser = loser;
+		this.reason = reason;
+	}
+
+	public int getMoveCount() {
+		return moves.length;
+	}
+
+	/**
+	 * @return The move of the given ply, packed as described in {@link PackedMove}.
+	 */
+	public int getMove(int ply) {
+		return moves[ply];
+	}
+
+	public int[] getMoves() {
+		return moves.clone();
+	}
+
+	public Optional<CheckersBoard.Player> getLoser() {
+		return loser;
+	}
+
+	public GameListener.GameEndReason getReason() {
+		return reason;
+	}
+
+	/**
+	 * Plays the moves of the game on a new board.
+	 * @return The board at the end of the game.
+	 * @throws BadMoveException If a move is illegal.
+	 */
+	public CheckersBoard replay() throws BadMoveException {
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int move : moves) {
+			board.processMove(move);
+		}
+		return board;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		GameRecord that = (GameRecord) o;
+		return Arrays.equals(moves, that.moves) && loser.equals(that.loser) && reason == that.reason;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * Arrays.hashCode(moves) + loser.hashCode()) + reason.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int move : moves) {
+			builder.append(PackedMove.toString(move)).append(' ');
+		}
+		return builder.append(reason).append(loser.map(player -> ", " + player + " lost").orElse("")).toString();
+	}
+}
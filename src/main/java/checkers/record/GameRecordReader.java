@@ -0,0 +1,87 @@
+package checkers.record;
+
+import checkers.CheckersBoard;
+import checkers.GameListener;
+import checkers.PackedMove;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Reads the games written by {@link GameRecordWriter}, one at a time, so that
+ * a file of any size can be read in constant memory. The moves are decoded by
+ * replaying each game on a board.
+ */
+public class GameRecordReader implements Closeable {
+	private static final GameListener.GameEndReason[] REASONS = GameListener.GameEndReason.values();
+
+	private final InputStream in;
+	private final int[] legalMoves = new int[PackedMove.MAX_MOVES];
+
+	public GameRecordReader(InputStream in) throws IOException {
+		this.in = new BufferedInputStream(in, GameRecordWriter.BUFFER_SIZE);
+		int magic = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+		if (magic != GameRecordWriter.MAGIC) {
+			throw new IOException("This is not a game record stream!");
+		}
+	}
+
+	/**
+	 * @return The next game, or {@code null} at the end of the stream.
+	 * @throws IOException If the stream ends inside a game or holds an illegal move.
+	 */
+	public GameRecord read() throws IOException {
+		int first = in.read();
+		if (first < 0) {
+			return null;
+		}
+		int count = readVarint(first);
+		int result = readByte();
+		if ((result & 3) == 3 || (result >>> 2) >= REASONS.length) {
+			throw new IOException("Invalid game result " + result + "!");
+		}
+		Optional<CheckersBoard.Player> loser = (result & 3) == 0 ? Optional.empty()//
+				: Optional.of((result & 3) == 1 ? CheckersBoard.Player.BLACK : CheckersBoard.Player.RED);
+		int[] moves = new int[count];
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int ply = 0; ply < count; ply++) {
+			int legalCount = board.legalMoves(legalMoves);
+			int index = legalCount > 1 ? readByte() : 0;
+			if (index >= legalCount) {
+				throw new IOException("Move " + (ply + 1) + " of the game is not a legal move!");
+			}
+			moves[ply] = legalMoves[index];
+			board.makeMove(moves[ply]);
+		}
+		return new GameRecord(moves, loser, REASONS[result >>> 2]);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private int readVarint(int first) throws IOException {
+		int value = first & 0x7F;
+		for (int shift = 7, next = first; (next & 0x80) != 0; shift += 7) {
+			if (shift > 28) {
+				throw new IOException("Invalid move count!");
+			}
+			next = readByte();
+			value |= (next & 0x7F) << shift;
+		}
+		return value;
+	}
+
+	private int readByte() throws IOException {
+		int value = in.read();
+		if (value < 0) {
+			throw new EOFException("The game record stream ends inside a game!");
+		}
+		return value;
+	}
+}
@@ -0,0 +1,121 @@
+package checkers.record;
+
+import checkers.CheckersBoard;
+import checkers.GameListener;
+import checkers.PackedMove;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Writes games to a stream, one after the other, in a compact binary format.
+ * <p>
+ * The stream starts with {@link #MAGIC}. Each game is then
+ * <ul>
+ * <li>its number of moves, as an unsigned varint: 7 bits per byte, low bits first, with the top bit set on all bytes but the last</li>
+ * <li>one byte for the result: the loser in bits 0-1 (0 for none, 1 for Black, 2 for Red), and the {@link GameListener.GameEndReason} in the other bits</li>
+ * <li>one byte per move: its index in {@link CheckersBoard#legalMoves(int[])}, which lists the captures or else the normal moves.
+ * A move that was the only legal one takes no byte at all.</li>
+ * </ul>
+ * A writer can be shared by the games of several threads.
+ */
+public class GameRecordWriter implements Closeable {
+	static final int MAGIC = 0x43475231; // "CGR1"
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private final OutputStream out;
+	private final int[] legalMoves = new int[PackedMove.MAX_MOVES];
+	// the move indexes of the game being written, so that an illegal game writes nothing
+	private byte[] indexes = new byte[256];
+	private long games;
+
+	public GameRecordWriter(OutputStream out) throws IOException {
+		this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+		writeInt(MAGIC);
+	}
+
+	/**
+	 * @throws IllegalArgumentException If a move of the game is illegal. Nothing is written then.
+	 */
+	public synchronized void write(GameRecord game) throws IOException {
+		int length = 0;
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int ply = 0; ply < game.getMoveCount(); ply++) {
+			int move = game.getMove(ply);
+			int count = board.legalMoves(legalMoves);
+			int index = 0;
+			while (index < count && legalMoves[index] != move) {
+				index++;
+			}
+			if (index == count) {
+				throw new IllegalArgumentException("Move " + (ply + 1) + " of the game, " + PackedMove.toString(move) + ", is illegal!");
+			}
+			if (count > 1) {
+				if (length == indexes.length) {
+					indexes = Arrays.copyOf(indexes, length * 2);
+				}
+				indexes[length++] = (byte) index;
+			}
+			board.makeMove(move);
+		}
+		writeVarint(game.getMoveCount());
+		out.write(resultByte(game.getLoser(), game.getReason()));
+		out.write(indexes, 0, length);
+		games++;
+	}
+
+	/**
+	 * @return A listener for {@link CheckersBoard#play(checkers.CheckersPlayer, checkers.CheckersPlayer, GameListener)}
+	 * that writes the game once it ends. Each game needs its own listener.
+	 */
+	public GameListener newGameListener() {
+		return new GameRecorder(game -> {
+			try {
+				write(game);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * @return The number of games written.
+	 */
+	public synchronized long getGames() {
+		return games;
+	}
+
+	public synchronized void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		out.close();
+	}
+
+	static int resultByte(Optional<CheckersBoard.Player> loser, GameListener.GameEndReason reason) {
+		int loserBits = loser.map(player -> player == CheckersBoard.Player.BLACK ? 1 : 2).orElse(0);
+		return loserBits | (reason.ordinal() << 2);
+	}
+
+	private void writeVarint(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private void writeInt(int value) throws IOException {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+}
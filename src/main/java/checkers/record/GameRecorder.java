@@ -0,0 +1,37 @@
+package checkers.record;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.GameListener;
+import checkers.PackedMove;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Collects the moves of a game played with {@link CheckersBoard#play(checkers.CheckersPlayer, checkers.CheckersPlayer, GameListener)},
+ * and hands over its {@link GameRecord} once it ends. A recorder follows a single game.
+ */
+public class GameRecorder implements GameListener {
+	private final Consumer<GameRecord> onGameEnded;
+	private int[] moves = new int[128];
+	private int count;
+
+	public GameRecorder(Consumer<GameRecord> onGameEnded) {
+		this.onGameEnded = onGameEnded;
+	}
+
+	@Override
+	public void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+		if (count == moves.length) {
+			moves = Arrays.copyOf(moves, count * 2);
+		}
+		moves[count++] = PackedMove.of(move);
+	}
+
+	@Override
+	public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+		onGameEnded.accept(new GameRecord(Arrays.copyOf(moves, count), loser, reason));
+	}
+}
@@ -0,0 +1,86 @@
+package checkers.selfplay;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.GameListener;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Samples the positions of one game as it is played, and labels them with its
+ * result once it ends. The positions are kept in parallel arrays, so a game
+ * costs a handful of objects however many positions it samples.
+ * <p>
+ * Only quiet positions are sampled: no capture is pending or possible, so the
+ * material on the board is what the result is about.
+ */
+class GameSamples implements GameListener {
+	private final int skipPlies;
+	private final double sampleRate;
+	private final SplittableRandom random;
+	private int ply;
+	private int count;
+	private int[] black = new int[32];
+	private int[] red = new int[32];
+	private int[] kings = new int[32];
+	private boolean[] redToMove = new boolean[32];
+	private long[] keys = new long[32];
+	private int result = -1;
+
+	GameSamples(int skipPlies, double sampleRate, SplittableRandom random) {
+		this.skipPlies = skipPlies;
+		this.sampleRate = sampleRate;
+		this.random = random;
+	}
+
+	@Override
+	public void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+		if (++ply <= skipPlies || board.isCaptureLock() || board.isCapturePossible() || random.nextDouble() >= sampleRate) {
+			return;
+		}
+		if (count == keys.length) {
+			black = Arrays.copyOf(black, count * 2);
+			red = Arrays.copyOf(red, count * 2);
+			kings = Arrays.copyOf(kings, count * 2);
+			redToMove = Arrays.copyOf(redToMove, count * 2);
+			keys = Arrays.copyOf(keys, count * 2);
+		}
+		black[count] = board.getPieces(CheckersBoard.Player.BLACK);
+		red[count] = board.getPieces(CheckersBoard.Player.RED);
+		kings[count] = board.getKings();
+		redToMove[count] = board.getCurrentPlayer() == CheckersBoard.Player.RED;
+		keys[count] = board.zobristKey();
+		count++;
+	}
+
+	/**
+	 * Labels the positions, unless the game was lost by a failing player rather than over the board.
+	 */
+	@Override
+	public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+		if (reason == GameEndReason.ILLEGAL_MOVE || reason == GameEndReason.TIMEOUT || reason == GameEndReason.PLAYER_ERROR) {
+			return;
+		}
+		result = loser.map(player -> player == CheckersBoard.Player.RED ? PositionWriter.BLACK_WIN : PositionWriter.BLACK_LOSS)//
+				.orElse(PositionWriter.DRAW);
+	}
+
+	boolean isLabeled() {
+		return result >= 0;
+	}
+
+	int size() {
+		return count;
+	}
+
+	long key(int i) {
+		return keys[i];
+	}
+
+	void write(int i, PositionWriter writer) throws IOException {
+		writer.write(black[i], red[i], kings[i], redToMove[i] ? CheckersBoard.Player.RED : CheckersBoard.Player.BLACK, result);
+	}
+}
@@ -0,0 +1,89 @@
+package checkers.selfplay;
+
+/**
+ * A set of {@code long} keys with open addressing and linear probing, so that
+ * millions of position hashes take 8 to 16 bytes each instead of a boxed
+ * {@link Long} and a map entry. The table doubles when it is half full.
+ */
+class LongHashSet {
+	// 0 marks an empty slot, so the key 0 is kept aside
+	private static final long EMPTY = 0;
+
+	private long[] slots;
+	private int mask;
+	private int size;
+	private boolean containsEmpty;
+
+	LongHashSet(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(16, expectedSize) * 2 - 1) << 1;
+		slots = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * @return Whether the key was not in the set yet.
+	 */
+	boolean add(long key) {
+		if (key == EMPTY) {
+			boolean added = !containsEmpty;
+			containsEmpty = true;
+			return added;
+		}
+		for (int index = index(key);; index = (index + 1) & mask) {
+			if (slots[index] == key) {
+				return false;
+			}
+			if (slots[index] == EMPTY) {
+				slots[index] = key;
+				if (++size * 2 > slots.length) {
+					grow();
+				}
+				return true;
+			}
+		}
+	}
+
+	boolean contains(long key) {
+		if (key == EMPTY) {
+			return containsEmpty;
+		}
+		for (int index = index(key);; index = (index + 1) & mask) {
+			if (slots[index] == key) {
+				return true;
+			}
+			if (slots[index] == EMPTY) {
+				return false;
+			}
+		}
+	}
+
+	int size() {
+		return size + (containsEmpty ? 1 : 0);
+	}
+
+	private void grow() {
+		long[] old = slots;
+		slots = new long[old.length * 2];
+		mask = slots.length - 1;
+		for (long key : old) {
+			if (key != EMPTY) {
+				int index = index(key);
+				while (slots[index] != EMPTY) {
+					index = (index + 1) & mask;
+				}
+				slots[index] = key;
+			}
+		}
+	}
+
+	private int index(long key) {
+		// Zobrist keys are already random, but other keys may not be
+		long mixed = key * 0x9E3779B97F4A7C15L;
+		return (int) (mixed >>> 32) & mask;
+	}
+
+	@Override
+	public String toString() {
+		return "LongHashSet[size=" + size() + ", capacity=" + slots.length + "]";
+	}
+}
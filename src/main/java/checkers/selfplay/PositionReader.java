@@ -0,0 +1,96 @@
+package checkers.selfplay;
+
+import checkers.CheckersBoard;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the positions written by {@link PositionWriter}, one at a time and
+ * without allocating: {@link #next()} moves to the next position, whose fields
+ * the getters then return.
+ */
+public class PositionReader implements Closeable {
+	private final InputStream in;
+	private int black;
+	private int red;
+	private int kings;
+	private CheckersBoard.Player toMove;
+	private int result;
+
+	public PositionReader(InputStream in) throws IOException {
+		this.in = new BufferedInputStream(in, PositionWriter.BUFFER_SIZE);
+		int first = this.in.read();
+		if (first < 0 || ((first << 24) | readInt24()) != PositionWriter.MAGIC) {
+			throw new IOException("This is not a labeled position stream!");
+		}
+	}
+
+	/**
+	 * @return Whether there was another position.
+	 * @throws IOException If the stream ends inside a position or holds an invalid one.
+	 */
+	public boolean next() throws IOException {
+		int first = in.read();
+		if (first < 0) {
+			return false;
+		}
+		black = (first << 24) | readInt24();
+		red = readInt();
+		kings = readInt();
+		int flags = readByte();
+		result = flags >>> 1;
+		if ((black & red) != 0 || (kings & ~(black | red)) != 0 || result > PositionWriter.BLACK_WIN) {
+			throw new IOException("Invalid position!");
+		}
+		toMove = (flags & 1) != 0 ? CheckersBoard.Player.RED : CheckersBoard.Player.BLACK;
+		return true;
+	}
+
+	public int getBlack() {
+		return black;
+	}
+
+	public int getRed() {
+		return red;
+	}
+
+	public int getKings() {
+		return kings;
+	}
+
+	public CheckersBoard.Player getToMove() {
+		return toMove;
+	}
+
+	/**
+	 * @return The result for Black: {@link PositionWriter#BLACK_LOSS}, {@link PositionWriter#DRAW} or {@link PositionWriter#BLACK_WIN}.
+	 */
+	public int getResult() {
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private int readInt() throws IOException {
+		return (readByte() << 24) | readInt24();
+	}
+
+	private int readInt24() throws IOException {
+		return (readByte() << 16) | (readByte() << 8) | readByte();
+	}
+
+	private int readByte() throws IOException {
+		int value = in.read();
+		if (value < 0) {
+			throw new EOFException("The position stream ends inside a position!");
+		}
+		return value;
+	}
+}
@@ -0,0 +1,69 @@
+package checkers.selfplay;
+
+import checkers.CheckersBoard;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes positions labeled with the result of their game, in a compact binary format.
+ * <p>
+ * The stream starts with {@link #MAGIC}. Each position then takes 13 bytes:
+ * <ul>
+ * <li>the Black pieces, the Red pieces and the kings, as big-endian {@code int} masks of {@link checkers.CheckersBitboard} squares</li>
+ * <li>one byte with the side to move in bit 0 (1 for Red), and the result for Black in bits 1-2:
+ * {@link #BLACK_LOSS}, {@link #DRAW} or {@link #BLACK_WIN}</li>
+ * </ul>
+ */
+public class PositionWriter implements Closeable {
+	public static final int BLACK_LOSS = 0;
+	public static final int DRAW = 1;
+	public static final int BLACK_WIN = 2;
+	public static final int BYTES_PER_POSITION = 13;
+
+	static final int MAGIC = 0x434C5031; // "CLP1"
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private final OutputStream out;
+	private long positions;
+
+	public PositionWriter(OutputStream out) throws IOException {
+		this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+		writeInt(MAGIC);
+	}
+
+	/**
+	 * @param result The result for Black: {@link #BLACK_LOSS}, {@link #DRAW} or {@link #BLACK_WIN}.
+	 */
+	public void write(int black, int red, int kings, CheckersBoard.Player toMove, int result) throws IOException {
+		if (result < BLACK_LOSS || result > BLACK_WIN) {
+			throw new IllegalArgumentException("Invalid result " + result + "!");
+		}
+		writeInt(black);
+		writeInt(red);
+		writeInt(kings);
+		out.write((toMove == CheckersBoard.Player.RED ? 1 : 0) | (result << 1));
+		positions++;
+	}
+
+	/**
+	 * @return The number of positions written.
+	 */
+	public long getPositions() {
+		return positions;
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	private void writeInt(int value) throws IOException {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+}
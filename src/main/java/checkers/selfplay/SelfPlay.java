@@ -0,0 +1,262 @@
+package checkers.selfplay;
+
+import checkers.CheckersBoard;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plays games between bots on all the cores and writes their positions, labeled
+ * with the result of the game, for tuning evaluators.
+ * <p>
+ * The game threads hand the samples of every finished game to a single writer
+ * through a bounded queue, so they wait whenever the writer falls behind. The
+ * writer drops the positions it has already written, by Zobrist key, and
+ * starts a new shard file every {@link #setShardSize(int) shard size} positions:
+ * {@code prefix-00000.pos}, {@code prefix-00001.pos}, and so on, in the format of {@link PositionWriter}.
+ * <p>
+ * Each game starts with a few random moves, so that deterministic bots do not replay the same game.
+ * <p>
+ * Usage: {@code SelfPlay [-games N] [-threads N] [-out dir] [-prefix name] [-shard N] [-sample R] [-random N] BotClass [BotClass...]}
+ */
+public class SelfPlay {
+	public static final int DEFAULT_SHARD_SIZE = 1_000_000;
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+	public static final int DEFAULT_RANDOM_PLIES = 6;
+	public static final int DEFAULT_SKIP_PLIES = 4;
+	public static final double DEFAULT_SAMPLE_RATE = 0.5;
+
+	// tells the writer that every game thread is done
+	private static final GameSamples END = new GameSamples(0, 0, new SplittableRandom());
+
+	private final List<Supplier<? extends CheckersPlayer>> players;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int shardSize = DEFAULT_SHARD_SIZE;
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+	private int randomPlies = DEFAULT_RANDOM_PLIES;
+	private int skipPlies = DEFAULT_SKIP_PLIES;
+	private double sampleRate = DEFAULT_SAMPLE_RATE;
+
+	/**
+	 * @param players Create a new bot for every game, which is closed after the game. Each game is played between two of them, picked at random.
+	 */
+	public SelfPlay(List<Supplier<? extends CheckersPlayer>> players) {
+		if (players.isEmpty()) {
+			throw new IllegalArgumentException("Self-play needs at least 1 player!");
+		}
+		this.players = players;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * @param shardSize The number of positions in each file.
+	 */
+	public void setShardSize(int shardSize) {
+		this.shardSize = shardSize;
+	}
+
+	/**
+	 * @param queueCapacity The number of finished games that may wait for the writer.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * @param randomPlies The number of random moves each game starts with.
+	 */
+	public void setRandomPlies(int randomPlies) {
+		this.randomPlies = randomPlies;
+	}
+
+	/**
+	 * @param skipPlies The number of moves after the random ones whose positions are not sampled.
+	 */
+	public void setSkipPlies(int skipPlies) {
+		this.skipPlies = skipPlies;
+	}
+
+	/**
+	 * @param sampleRate The probability that a quiet position is sampled, from 0 to 1.
+	 */
+	public void setSampleRate(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * Plays the games and writes the shards into {@code directory}, which is created if needed.
+	 */
+	public SelfPlayResult run(long games, Path directory, String prefix) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		Files.createDirectories(directory);
+		BlockingQueue<GameSamples> queue = new ArrayBlockingQueue<>(queueCapacity);
+		AtomicLong nextGame = new AtomicLong();
+		AtomicLong playedGames = new AtomicLong();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+			Thread thread = new Thread(task, "self-play");
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<Future<?>> producers = new ArrayList<>();
+		AtomicInteger running = new AtomicInteger(threads);
+		// set once the writer stops taking games, so that no thread waits for room in the queue afterwards
+		AtomicBoolean writerDone = new AtomicBoolean();
+		for (int i = 0; i < threads; i++) {
+			producers.add(pool.submit(() -> {
+				try {
+					produce(games, nextGame, playedGames, queue);
+				} finally {
+					if (running.decrementAndGet() == 0 && !writerDone.get()) {
+						queue.put(END);
+					}
+				}
+				return null;
+			}));
+		}
+		LongHashSet written = new LongHashSet(shardSize);
+		long sampled = 0;
+		long labeledGames = 0;
+		int shards = 0;
+		PositionWriter writer = null;
+		try {
+			for (GameSamples game = queue.take(); game != END; game = queue.take()) {
+				labeledGames++;
+				sampled += game.size();
+				for (int i = 0; i < game.size(); i++) {
+					if (!written.add(game.key(i))) {
+						continue;
+					}
+					if (writer == null || writer.getPositions() == shardSize) {
+						if (writer != null) {
+							writer.close();
+						}
+						writer = new PositionWriter(Files.newOutputStream(directory.resolve(String.format("%s-%05d.pos", prefix, shards++))));
+					}
+					game.write(i, writer);
+				}
+			}
+		} finally {
+			writerDone.set(true);
+			pool.shutdownNow();
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		for (Future<?> producer : producers) {
+			try {
+				producer.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("A game thread failed!", e.getCause());
+			}
+		}
+		return new SelfPlayResult(playedGames.get(), labeledGames, sampled, written.size(), shards, System.nanoTime() - start);
+	}
+
+	private void produce(long games, AtomicLong nextGame, AtomicLong playedGames, BlockingQueue<GameSamples> queue) throws InterruptedException {
+		SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		while (nextGame.getAndIncrement() < games) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0; ply < randomPlies; ply++) {
+				int count = board.legalMoves(moves);
+				if (count == 0) {
+					break;
+				}
+				board.makeMove(moves[random.nextInt(count)]);
+			}
+			CheckersPlayer black = players.get(random.nextInt(players.size())).get();
+			CheckersPlayer red = players.get(random.nextInt(players.size())).get();
+			GameSamples samples = new GameSamples(skipPlies, sampleRate, random);
+			try {
+				board.play(black, red, samples);
+			} finally {
+				CheckersPlayer.close(black);
+				CheckersPlayer.close(red);
+			}
+			playedGames.incrementAndGet();
+			if (samples.isLabeled()) {
+				queue.put(samples);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		long games = 10_000;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String out = "selfplay";
+		String prefix = "positions";
+		int shardSize = DEFAULT_SHARD_SIZE;
+		double sampleRate = DEFAULT_SAMPLE_RATE;
+		int randomPlies = DEFAULT_RANDOM_PLIES;
+		List<Supplier<? extends CheckersPlayer>> players = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-games")) {
+				games = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-out")) {
+				out = args[++i];
+			} else if (args[i].equals("-prefix")) {
+				prefix = args[++i];
+			} else if (args[i].equals("-shard")) {
+				shardSize = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-sample")) {
+				sampleRate = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("-random")) {
+				randomPlies = Integer.parseInt(args[++i]);
+			} else {
+				players.add(playerSupplier(args[i]));
+			}
+		}
+		if (players.isEmpty()) {
+			System.err.println("Usage: SelfPlay [-games N] [-threads N] [-out dir] [-prefix name] [-shard N] [-sample R] [-random N] BotClass [BotClass...]");
+			System.exit(1);
+		}
+		SelfPlay selfPlay = new SelfPlay(players);
+		selfPlay.setThreads(threads);
+		selfPlay.setShardSize(shardSize);
+		selfPlay.setSampleRate(sampleRate);
+		selfPlay.setRandomPlies(randomPlies);
+		System.out.println(selfPlay.run(games, Paths.get(out), prefix));
+	}
+
+	private static Supplier<CheckersPlayer> playerSupplier(String name) {
+		Class<? extends CheckersPlayer> playerClass;
+		try {
+			playerClass = Class.forName(name).asSubclass(CheckersPlayer.class);
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IllegalArgumentException(name + " is not a CheckersPlayer class!", e);
+		}
+		return () -> {
+			try {
+				return playerClass.getDeclaredConstructor().newInstance();
+			} catch (InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+				throw new IllegalArgumentException(name + " needs a public no-argument constructor!", e);
+			} catch (InvocationTargetException e) {
+				throw new IllegalStateException("Could not create " + name, e.getCause());
+			}
+		};
+	}
+}
@@ -0,0 +1,72 @@
+package checkers.selfplay;
+
+/**
+ * What a run of {@link SelfPlay} produced.
+ */
+public class SelfPlayResult {
+	private final long games;
+	private final long labeledGames;
+	private final long sampled;
+	private final long written;
+	private final int shards;
+	private final long elapsedNanos;
+
+	SelfPlayResult(long games, long labeledGames, long sampled, long written, int shards, long elapsedNanos) {
+		this.games = games;
+		this.labeledGames = labeledGames;
+		this.sampled = sampled;
+		this.written = written;
+		this.shards = shards;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return The games played, including those lost by an illegal move, a timeout or an error.
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * @return The games with a result the positions could be labeled with, which excludes the forfeited ones.
+	 */
+	public long getLabeledGames() {
+		return labeledGames;
+	}
+
+	/**
+	 * @return The positions sampled from the games, including the duplicates.
+	 */
+	public long getSampled() {
+		return sampled;
+	}
+
+	/**
+	 * @return The distinct positions written.
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	public long getDuplicates() {
+		return sampled - written;
+	}
+
+	public int getShards() {
+		return shards;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	public long getPositionsPerHour() {
+		return elapsedNanos == 0 ? 0 : (long) (written * 3_600_000_000_000.0 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return games + " games (" + labeledGames + " labeled), " + sampled + " positions sampled, " + written + " written to " + shards + " shards ("//
+				+ getDuplicates() + " duplicates) in " + getElapsedMillis() + " ms, " + getPositionsPerHour() + " positions/hour";
+	}
+}
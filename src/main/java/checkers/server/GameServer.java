@@ -0,0 +1,271 @@
+package checkers.server;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.GameClock;
+import checkers.GameListener;
+import checkers.TimeControl;
+import checkers.record.GameRecordWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts games between {@link RemotePlayer}s that connect over TCP on the loopback
+ * interface. Players are paired in the order they arrive, the first one playing
+ * Black, and each pair plays one game under the {@link TimeControl} of the server,
+ * after which both connections are closed.
+ * <p>
+ * Every connection gets a thread from a pool, which then runs the game it ends up
+ * in. The threads only wait on sockets and play the rules, so they are created
+ * with a small stack, and thousands of games can run at the same time.
+ * <p>
+ * Usage: {@code GameServer [-port N] [-millis N] [-clock N] [-increment N] [-record file]}
+ */
+public class GameServer implements Closeable {
+	public static final int DEFAULT_PORT = 7031;
+	public static final int DEFAULT_MOVE_MILLIS = 1000;
+
+	private static final int BACKLOG = 1024;
+	private static final long STACK_SIZE = 256 * 1024;
+
+	private final ServerSocket serverSocket;
+	private final TimeControl timeControl;
+	private final ExecutorService pool;
+	private final Set<RemotePlayer> players = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger gamesInProgress = new AtomicInteger();
+	private final AtomicLong gamesPlayed = new AtomicLong();
+	private GameRecordWriter recordWriter;
+	private RemotePlayer waiting;
+
+	/**
+	 * @param port The port to listen to, or 0 for any free port.
+	 * @param timeControl The time allowed to the players of every game.
+	 */
+	public GameServer(int port, TimeControl timeControl) throws IOException {
+		this.timeControl = timeControl;
+		serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+		AtomicInteger threads = new AtomicInteger();
+		pool = Executors.newCachedThreadPool(task -> {
+			Thread thread = new Thread(null, task, "game-" + threads.incrementAndGet(), STACK_SIZE);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param recordWriter Where to write every game, or {@code null} not to keep them.
+	 */
+	public void setRecordWriter(GameRecordWriter recordWriter) {
+		this.recordWriter = recordWriter;
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public int getGamesInProgress() {
+		return gamesInProgress.get();
+	}
+
+	public long getGamesPlayed() {
+		return gamesPlayed.get();
+	}
+
+	/**
+	 * Starts accepting players on a thread of its own, until {@link #close()}.
+	 */
+	public void start() {
+		new Thread(this::acceptPlayers, "game-server").start();
+	}
+
+	private void acceptPlayers() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				pool.execute(() -> join(socket));
+			} catch (IOException e) {
+				// the server socket was closed, or the connection failed before it was accepted
+			}
+		}
+	}
+
+	/**
+	 * Waits for the {@code HELLO} of a new connection, then either queues the
+	 * player or starts its game against the queued one. A queued player that
+	 * disconnected while waiting is dropped, and the new one takes its place.
+	 */
+	private void join(Socket socket) {
+		RemotePlayer player;
+		try {
+			socket.setTcpNoDelay(true);
+			player = new RemotePlayer(socket);
+		} catch (IOException e) {
+			closeQuietly(socket);
+			return;
+		}
+		players.add(player);
+		while (true) {
+			RemotePlayer black;
+			synchronized (this) {
+				if (waiting == null) {
+					waiting = player;
+					return;
+				}
+				black = waiting;
+				waiting = null;
+			}
+			// probed outside the lock, so that other connections do not wait on its socket
+			if (black.isConnected()) {
+				playGame(black, player);
+				return;
+			}
+			disconnect(black);
+		}
+	}
+
+	/**
+	 * Plays a game to its end and closes both connections. A player that does not
+	 * answer in time loses on time, and one that disconnects or breaks the protocol
+	 * loses with {@link GameListener.GameEndReason#PLAYER_ERROR}.
+	 * @return The color that lost, or {@code Optional.empty()} if there is a tie.
+	 */
+	Optional<CheckersBoard.Player> playGame(RemotePlayer black, RemotePlayer red) {
+		gamesInProgress.incrementAndGet();
+		CheckersBoard board = CheckersBoard.initBoard();
+		Session session = new Session(black, red, recordWriter == null ? GameListener.NO_OP : recordWriter.newGameListener());
+		// the remote players wait on their sockets with the budget of the clock, so they are asked on the game thread
+		GameClock clock = new GameClock(timeControl);
+		try {
+			black.startGame(CheckersBoard.Player.BLACK, clock);
+			red.startGame(CheckersBoard.Player.RED, clock);
+			board.play(black, red, session, clock);
+			gamesPlayed.incrementAndGet();
+			String end = Protocol.END + " " + session.loser.map(CheckersBoard.Player::toString).orElse(Protocol.DRAW) + " " + session.reason;
+			black.send(end);
+			red.send(end);
+			return session.loser;
+		} finally {
+			gamesInProgress.decrementAndGet();
+			disconnect(black);
+			disconnect(red);
+		}
+	}
+
+	private void disconnect(RemotePlayer player) {
+		players.remove(player);
+		closeQuietly(player);
+	}
+
+	/**
+	 * Stops accepting players and closes every connection, which ends the games in progress.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		pool.shutdown();
+		for (RemotePlayer player : players) {
+			closeQuietly(player);
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			// nothing more to do with a connection that is going away
+		}
+	}
+
+	/**
+	 * Tells both players about every move, and keeps the result.
+	 */
+	private static class Session implements GameListener {
+		private final RemotePlayer black;
+		private final RemotePlayer red;
+		private final GameListener listener;
+		Optional<CheckersBoard.Player> loser = Optional.empty();
+		GameEndReason reason;
+
+		Session(RemotePlayer black, RemotePlayer red, GameListener listener) {
+			this.black = black;
+			this.red = red;
+			this.listener = listener;
+		}
+
+		@Override
+		public void gameStarted(CheckersBoard board, CheckersPlayer black, CheckersPlayer red) {
+			listener.gameStarted(board, black, red);
+		}
+
+		@Override
+		public void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+			String message = Protocol.moveMessage(Protocol.MOVED, move);
+			black.send(message);
+			red.send(message);
+			listener.moveApplied(board, player, move);
+		}
+
+		@Override
+		public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+			this.loser = loser;
+			this.reason = reason;
+			listener.gameEnded(board, loser, reason);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = DEFAULT_PORT;
+		long moveMillis = DEFAULT_MOVE_MILLIS;
+		long gameMillis = 0;
+		long incrementMillis = 0;
+		String recordFile = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-port")) {
+				port = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-millis")) {
+				moveMillis = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-clock")) {
+				gameMillis = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-increment")) {
+				incrementMillis = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-record")) {
+				recordFile = args[++i];
+			} else {
+				System.err.println("Usage: GameServer [-port N] [-millis N] [-clock N] [-increment N] [-record file]");
+				System.exit(1);
+			}
+		}
+		TimeControl timeControl = new TimeControl(moveMillis, gameMillis, incrementMillis);
+		GameServer server = new GameServer(port, timeControl);
+		GameRecordWriter recordWriter = recordFile == null ? null : new GameRecordWriter(Files.newOutputStream(Paths.get(recordFile)));
+		server.setRecordWriter(recordWriter);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				server.close();
+				if (recordWriter != null) {
+					recordWriter.close();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			System.out.println(server.getGamesPlayed() + " games played");
+		}));
+		server.start();
+		System.out.println("Listening on port " + server.getPort() + " with " + timeControl);
+	}
+}
@@ -0,0 +1,62 @@
+package checkers.server;
+
+import checkers.CheckersMove;
+
+/**
+ * The line protocol between a {@link GameServer} and its remote players. Every
+ * message is one line of words separated by single spaces, and squares are
+ * given as {@code row col} as in {@link CheckersMove}.
+ * <p>
+ * From the player:
+ * <ul>
+ * <li>{@code HELLO <name>}: the first line, to join the queue of players waiting for a game</li>
+ * <li>{@code MOVE <row> <col> <row> <col>}: the answer to {@code TURN}</li>
+ * </ul>
+ * From the server:
+ * <ul>
+ * <li>{@code GAME <BLACK|RED> <move millis> <game millis> <increment millis>}: a game starts, with the color of the player
+ * and the {@link checkers.TimeControl}, where 0 means no limit</li>
+ * <li>{@code TURN <millis>}: the player has to move within the given time, or 0 for no limit</li>
+ * <li>{@code MOVED <row> <col> <row> <col>}: a move of either player was applied, including the steps of chained captures</li>
+ * <li>{@code END <BLACK|RED|DRAW> <reason>}: the game ended with the given loser, and the connection is closed</li>
+ * </ul>
+ * Both sides start from {@link checkers.CheckersBoard#initBoard()} and keep their
+ * board up to date by playing the {@code MOVED} moves.
+ */
+final class Protocol {
+	static final String HELLO = "HELLO";
+	static final String MOVE = "MOVE";
+	static final String GAME = "GAME";
+	static final String TURN = "TURN";
+	static final String MOVED = "MOVED";
+	static final String END = "END";
+	static final String DRAW = "DRAW";
+
+	private Protocol() {
+	}
+
+	static String moveMessage(String command, CheckersMove move) {
+		return command + " " + move.getStartRow() + " " + move.getStartCol() + " " + move.getEndRow() + " " + move.getEndCol();
+	}
+
+	/**
+	 * @return The move of a {@code MOVE} or {@code MOVED} message, or {@code null} if the message is not one.
+	 */
+	static CheckersMove parseMove(String command, String line) {
+		String[] words = line.split(" ");
+		if (words.length != 5 || !words[0].equals(command)) {
+			return null;
+		}
+		int[] squares = new int[4];
+		for (int i = 0; i < 4; i++) {
+			if (words[i + 1].length() != 1 || words[i + 1].charAt(0) < '0' || words[i + 1].charAt(0) > '7') {
+				return null;
+			}
+			squares[i] = words[i + 1].charAt(0) - '0';
+		}
+		return CheckersMove.builder()//
+				.fromPosition(squares[0], squares[1])//
+				.toPosition(squares[2], squares[3])//
+				.build();
+	}
+}
@@ -0,0 +1,142 @@
+package checkers.server;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.GameListener;
+import checkers.PackedMove;
+import checkers.exception.BadMoveException;
+import checkers.record.GameRecord;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Connects a local bot to a {@link GameServer}, so that bots can be run in
+ * processes of their own.
+ * <p>
+ * Usage: {@code RemoteBotClient [-host H] [-port N] [-games N] BotClass}
+ */
+public final class RemoteBotClient {
+	private RemoteBotClient() {
+	}
+
+	/**
+	 * Joins the server and plays one game with {@code bot}.
+	 * @return The game, as seen by the server.
+	 * @throws IOException If the connection fails or the server breaks the protocol.
+	 */
+	public static GameRecord play(String host, int port, String name, CheckersPlayer bot) throws IOException {
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+			send(out, Protocol.HELLO + " " + name);
+			CheckersBoard board = CheckersBoard.initBoard();
+			int[] moves = new int[128];
+			int count = 0;
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				if (line.startsWith(Protocol.TURN + " ")) {
+					send(out, Protocol.moveMessage(Protocol.MOVE, bot.play(board.clone())));
+				} else if (line.startsWith(Protocol.MOVED + " ")) {
+					CheckersMove move = Protocol.parseMove(Protocol.MOVED, line);
+					if (move == null) {
+						throw new IOException("Malformed message from the server: " + line);
+					}
+					try {
+						board.processMove(move);
+					} catch (BadMoveException e) {
+						throw new IOException("The server played an illegal move: " + line, e);
+					}
+					if (count == moves.length) {
+						moves = Arrays.copyOf(moves, count * 2);
+					}
+					moves[count++] = PackedMove.of(move);
+				} else if (line.startsWith(Protocol.END + " ")) {
+					return new GameRecord(Arrays.copyOf(moves, count), parseLoser(line), parseReason(line));
+				} else if (!line.startsWith(Protocol.GAME + " ")) {
+					throw new IOException("Unexpected message from the server: " + line);
+				}
+			}
+			throw new IOException("The server closed the connection before the end of the game!");
+		}
+	}
+
+	private static void send(Writer out, String message) throws IOException {
+		out.write(message);
+		out.write('\n');
+		out.flush();
+	}
+
+	private static Optional<CheckersBoard.Player> parseLoser(String line) throws IOException {
+		String[] words = line.split(" ");
+		if (words.length != 3) {
+			throw new IOException("Malformed message from the server: " + line);
+		}
+		try {
+			return words[1].equals(Protocol.DRAW) ? Optional.empty() : Optional.of(CheckersBoard.Player.valueOf(words[1]));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Malformed message from the server: " + line, e);
+		}
+	}
+
+	private static GameListener.GameEndReason parseReason(String line) throws IOException {
+		try {
+			return GameListener.GameEndReason.valueOf(line.split(" ")[2]);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Malformed message from the server: " + line, e);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		String host = "localhost";
+		int port = GameServer.DEFAULT_PORT;
+		int games = 1;
+		String botClass = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-host")) {
+				host = args[++i];
+			} else if (args[i].equals("-port")) {
+				port = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-games")) {
+				games = Integer.parseInt(args[++i]);
+			} else {
+				botClass = args[i];
+			}
+		}
+		if (botClass == null) {
+			System.err.println("Usage: RemoteBotClient [-host H] [-port N] [-games N] BotClass");
+			System.exit(1);
+		}
+		for (int game = 0; game < games; game++) {
+			CheckersPlayer bot = newPlayer(botClass);
+			GameRecord record;
+			try {
+				record = play(host, port, botClass, bot);
+			} finally {
+				CheckersPlayer.close(bot);
+			}
+			System.out.println("Game " + (game + 1) + ": " + record.getLoser().map(loser -> loser + " lost").orElse("draw")//
+					+ " (" + record.getReason() + ") after " + record.getMoveCount() + " moves");
+		}
+	}
+
+	private static CheckersPlayer newPlayer(String name) {
+		try {
+			return Class.forName(name).asSubclass(CheckersPlayer.class).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+			throw new IllegalArgumentException(name + " is not a CheckersPlayer class with a public no-argument constructor!", e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException("Could not create " + name, e.getCause());
+		}
+	}
+}
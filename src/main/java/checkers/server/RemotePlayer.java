@@ -0,0 +1,159 @@
+package checkers.server;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.GameClock;
+import checkers.TimeControl;
+import checkers.exception.RemotePlayerException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A player in another process, connected to a {@link GameServer}, that
+ * {@link CheckersBoard#play(CheckersPlayer, CheckersPlayer, checkers.GameListener)}
+ * sees as any other player. See {@link Protocol} for the messages.
+ * <p>
+ * {@link #play(CheckersBoard)} waits at most the time the {@link GameClock} of the
+ * game allows, and throws a {@link RemotePlayerException} if the player does not
+ * answer in time, disconnects or sends anything but a move.
+ */
+public class RemotePlayer implements CheckersPlayer, Closeable {
+	/** The time allowed for the {@code HELLO} of a new connection. */
+	public static final int HELLO_MILLIS = 10_000;
+	// so that the clock, rather than the socket, notices an overrun
+	private static final int GRACE_MILLIS = 50;
+
+	private final Socket socket;
+	private final BufferedReader in;
+	private final Writer out;
+	private final String name;
+	private CheckersBoard.Player color;
+	private GameClock clock;
+	private boolean disconnected;
+
+	/**
+	 * Reads the {@code HELLO} of a new connection.
+	 * @throws IOException If the connection fails or does not start with a {@code HELLO}.
+	 */
+	public RemotePlayer(Socket socket) throws IOException {
+		this.socket = socket;
+		in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+		out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+		socket.setSoTimeout(HELLO_MILLIS);
+		String hello = in.readLine();
+		if (hello == null || !hello.startsWith(Protocol.HELLO + " ")) {
+			throw new IOException("Expected " + Protocol.HELLO + " from " + socket.getRemoteSocketAddress() + "!");
+		}
+		name = hello.substring(Protocol.HELLO.length() + 1);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Tells the player that a game starts.
+	 * @param clock The clock of the game, which gives the time allowed for each move.
+	 */
+	void startGame(CheckersBoard.Player color, GameClock clock) {
+		this.color = color;
+		this.clock = clock;
+		TimeControl control = clock.getTimeControl();
+		send(Protocol.GAME + " " + color + " " + control.getMoveMillis() + " " + control.getGameMillis() + " " + control.getIncrementMillis());
+	}
+
+	/**
+	 * Asks for a move. An answer that comes too late is returned anyway, and the
+	 * {@link GameClock} that called this method decides that the player lost on time.
+	 */
+	@Override
+	public CheckersMove play(CheckersBoard board) {
+		long budget = clock.getMoveBudgetMillis(color);
+		boolean limited = budget < Integer.MAX_VALUE - GRACE_MILLIS;
+		send(Protocol.TURN + " " + (limited ? Math.max(1, budget) : 0));
+		if (disconnected) {
+			throw new RemotePlayerException(name + " disconnected!");
+		}
+		String line;
+		try {
+			socket.setSoTimeout(limited ? (int) budget + GRACE_MILLIS : 0);
+			line = in.readLine();
+		} catch (SocketTimeoutException e) {
+			throw new RemotePlayerException(name + " did not move within " + budget + " ms!");
+		} catch (IOException e) {
+			throw new RemotePlayerException(name + " disconnected: " + e.getMessage());
+		}
+		if (line == null) {
+			throw new RemotePlayerException(name + " disconnected!");
+		}
+		CheckersMove move = Protocol.parseMove(Protocol.MOVE, line);
+		if (move == null) {
+			throw new RemotePlayerException(name + " sent " + line + " instead of a move!");
+		}
+		return move;
+	}
+
+	/**
+	 * Checks, without waiting, that a player waiting for a game has not hung up.
+	 * Anything it sent is kept for {@link #play(CheckersBoard)}.
+	 */
+	boolean isConnected() {
+		if (disconnected || socket.isClosed()) {
+			return false;
+		}
+		try {
+			if (in.ready()) {
+				return true;
+			}
+			socket.setSoTimeout(1);
+			in.mark(1);
+			if (in.read() == -1) {
+				return false;
+			}
+			in.reset();
+			return true;
+		} catch (SocketTimeoutException e) {
+			// nothing to read, but the connection is open
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Sends a message. A failure is not reported until the player is asked for a move,
+	 * so that the game ends on the turn of the player whose connection broke.
+	 */
+	void send(String message) {
+		if (disconnected) {
+			return;
+		}
+		try {
+			out.write(message);
+			out.write('\n');
+			out.flush();
+		} catch (IOException e) {
+			disconnected = true;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
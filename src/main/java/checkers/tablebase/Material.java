@@ -0,0 +1,279 @@
+package checkers.tablebase;
+
+import checkers.CheckersBitboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The pieces of a tablebase position, seen from the player to move. Tables
+ * store every position as if Black were to move, and positions with Red to
+ * move are turned around first (see {@link #flip(int)}).
+ * <p>
+ * Each material has its own table, with one entry per index. The index is a
+ * combination number for each kind of piece in turn: the men of the player to
+ * move among the 28 squares they can stand on, then the opponent's men among
+ * the remaining squares, then the kings of each player among the squares that
+ * are still free. Every index decodes to a different position, and the only
+ * unused indices are those with an opponent man on its crowning row.
+ */
+public final class Material {
+	/** The most pieces a material can have, so that its counts fit in {@link #code()}. */
+	public static final int MAX_PIECES = 12;
+
+	private static final int MEN_SQUARES = CheckersBitboard.SQUARES - 4;
+	private static final int[][] BINOMIAL = new int[CheckersBitboard.SQUARES + 1][CheckersBitboard.SQUARES + 1];
+
+	static {
+		for (int n = 0; n < BINOMIAL.length; n++) {
+			BINOMIAL[n][0] = 1;
+			for (int k = 1; k <= n; k++) {
+				BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+			}
+		}
+	}
+
+	private final int ownMen;
+	private final int ownKings;
+	private final int opponentMen;
+	private final int opponentKings;
+	private final int size;
+	private final int opponentMenCombinations;
+	private final int ownKingsCombinations;
+	private final int opponentKingsCombinations;
+
+	public Material(int ownMen, int ownKings, int opponentMen, int opponentKings) {
+		if (ownMen < 0 || ownKings < 0 || opponentMen < 0 || opponentKings < 0//
+				|| ownMen + ownKings + opponentMen + opponentKings > MAX_PIECES) {
+			throw new IllegalArgumentException("A material has at most " + MAX_PIECES + " pieces!");
+		}
+		this.ownMen = ownMen;
+		this.ownKings = ownKings;
+		this.opponentMen = opponentMen;
+		this.opponentKings = opponentKings;
+		int free = CheckersBitboard.SQUARES - ownMen;
+		opponentMenCombinations = BINOMIAL[free][opponentMen];
+		free -= opponentMen;
+		ownKingsCombinations = BINOMIAL[free][ownKings];
+		free -= ownKings;
+		opponentKingsCombinations = BINOMIAL[free][opponentKings];
+		long positions = (long) BINOMIAL[MEN_SQUARES][ownMen] * opponentMenCombinations * ownKingsCombinations * opponentKingsCombinations;
+		if (positions > Integer.MAX_VALUE - Tablebase.HEADER_BYTES) {
+			throw new IllegalArgumentException("The table of " + this + " does not fit in a file mapping!");
+		}
+		size = (int) positions;
+	}
+
+	/**
+	 * @return The material of a position, given as the {@link CheckersBitboard} masks of the player to move and its opponent.
+	 */
+	public static Material of(int own, int opponent, int kings) {
+		return new Material(Integer.bitCount(own & ~kings), Integer.bitCount(own & kings),//
+				Integer.bitCount(opponent & ~kings), Integer.bitCount(opponent & kings));
+	}
+
+	/**
+	 * @return Every material from 2 to {@code maxPieces} pieces where both players have a piece, in an order where
+	 * the moves of a position only lead to the same material, to its {@link #swap()}, or to a material listed before.
+	 */
+	public static List<Material> solvingOrder(int maxPieces) {
+		List<Material> materials = new ArrayList<>();
+		// a capture removes a piece, and crowning turns a man into a king
+		for (int pieces = 2; pieces <= maxPieces; pieces++) {
+			for (int men = 0; men <= pieces; men++) {
+				for (int ownMen = 0; ownMen <= men; ownMen++) {
+					for (int ownKings = 0; ownKings <= pieces - men; ownKings++) {
+						Material material = new Material(ownMen, ownKings, men - ownMen, pieces - men - ownKings);
+						if (material.getOwnPieces() > 0 && material.getOpponentPieces() > 0) {
+							materials.add(material);
+						}
+					}
+				}
+			}
+		}
+		return materials;
+	}
+
+	/**
+	 * @return The same mask seen from the other side of the board: square {@code s} becomes square {@code 31 - s}.
+	 */
+	public static int flip(int mask) {
+		return Integer.reverse(mask);
+	}
+
+	/**
+	 * @return The material of the positions reached by a move that neither captures nor crowns.
+	 */
+	public Material swap() {
+		return new Material(opponentMen, opponentKings, ownMen, ownKings);
+	}
+
+	/**
+	 * @return The number of entries of the table.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return The index of a position of this material, given as in {@link #of(int, int, int)}.
+	 */
+	public int index(int own, int opponent, int kings) {
+		int ownMenMask = own & ~kings;
+		int opponentMenMask = opponent & ~kings;
+		int ownKingsMask = own & kings;
+		int occupied = ownMenMask | opponentMenMask;
+		int index = rank(ownMenMask >>> 4);
+		index = index * opponentMenCombinations + rank(compress(opponentMenMask, ownMenMask));
+		index = index * ownKingsCombinations + rank(compress(ownKingsMask, occupied));
+		return index * opponentKingsCombinations + rank(compress(opponent & kings, occupied | ownKingsMask));
+	}
+
+	/**
+	 * Decodes an index into the masks of the player to move, its opponent and the kings.
+	 * @return Whether the index is a position, rather than one with an opponent man on its crowning row.
+	 */
+	public boolean decode(int index, int[] masks) {
+		int opponentKingsRank = index % opponentKingsCombinations;
+		index /= opponentKingsCombinations;
+		int ownKingsRank = index % ownKingsCombinations;
+		index /= ownKingsCombinations;
+		int opponentMenRank = index % opponentMenCombinations;
+		index /= opponentMenCombinations;
+		int ownMenMask = unrank(index, ownMen) << 4;
+		int opponentMenMask = expand(unrank(opponentMenRank, opponentMen), ownMenMask);
+		int occupied = ownMenMask | opponentMenMask;
+		int ownKingsMask = expand(unrank(ownKingsRank, ownKings), occupied);
+		int opponentKingsMask = expand(unrank(opponentKingsRank, opponentKings), occupied | ownKingsMask);
+		masks[0] = ownMenMask | ownKingsMask;
+		masks[1] = opponentMenMask | opponentKingsMask;
+		masks[2] = ownKingsMask | opponentKingsMask;
+		return (opponentMenMask & CheckersBitboard.BOTTOM_ROW) == 0;
+	}
+
+	public int getOwnMen() {
+		return ownMen;
+	}
+
+	public int getOwnKings() {
+		return ownKings;
+	}
+
+	public int getOpponentMen() {
+		return opponentMen;
+	}
+
+	public int getOpponentKings() {
+		return opponentKings;
+	}
+
+	public int getOwnPieces() {
+		return ownMen + ownKings;
+	}
+
+	public int getOpponentPieces() {
+		return opponentMen + opponentKings;
+	}
+
+	public int getPieces() {
+		return getOwnPieces() + getOpponentPieces();
+	}
+
+	/**
+	 * @return A number that identifies this material among those of up to {@link #MAX_PIECES} pieces.
+	 */
+	int code() {
+		return code(ownMen, ownKings, opponentMen, opponentKings);
+	}
+
+	static int code(int ownMen, int ownKings, int opponentMen, int opponentKings) {
+		return ((ownMen * (MAX_PIECES + 1) + ownKings) * (MAX_PIECES + 1) + opponentMen) * (MAX_PIECES + 1) + opponentKings;
+	}
+
+	static int codeCount() {
+		return code(MAX_PIECES, MAX_PIECES, MAX_PIECES, MAX_PIECES) + 1;
+	}
+
+	/**
+	 * @return The name of the table file, e.g. {@code 2m1k-0m2k.tb} for 2 men and a king against 2 kings.
+	 */
+	String fileName() {
+		return ownMen + "m" + ownKings + "k-" + opponentMen + "m" + opponentKings + "k.tb";
+	}
+
+	/**
+	 * Ranks a set of positions in the combinatorial number system.
+	 */
+	private static int rank(int positions) {
+		int rank = 0;
+		for (int k = 1; positions != 0; k++) {
+			rank += BINOMIAL[Integer.numberOfTrailingZeros(positions)][k];
+			positions &= positions - 1;
+		}
+		return rank;
+	}
+
+	private static int unrank(int rank, int count) {
+		int positions = 0;
+		int position = CheckersBitboard.SQUARES - 1;
+		for (int k = count; k > 0; k--) {
+			while (BINOMIAL[position][k] > rank) {
+				position--;
+			}
+			rank -= BINOMIAL[position][k];
+			positions |= 1 << position;
+		}
+		return positions;
+	}
+
+	/**
+	 * @return {@code squares} renumbered among the squares not in {@code occupied}.
+	 */
+	private static int compress(int squares, int occupied) {
+		int positions = 0;
+		while (squares != 0) {
+			int square = Integer.numberOfTrailingZeros(squares);
+			squares &= squares - 1;
+			positions |= 1 << (square - Integer.bitCount(occupied & ((1 << square) - 1)));
+		}
+		return positions;
+	}
+
+	/**
+	 * @return The squares numbered by {@code positions} among the squares not in {@code occupied}.
+	 */
+	private static int expand(int positions, int occupied) {
+		int squares = 0;
+		int free = ~occupied;
+		int position = 0;
+		while (positions != 0) {
+			int bit = free & -free;
+			free ^= bit;
+			if ((positions & (1 << position)) != 0) {
+				squares |= bit;
+				positions &= ~(1 << position);
+			}
+			position++;
+		}
+		return squares;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		return code() == ((Material) o).code();
+	}
+
+	@Override
+	public int hashCode() {
+		return code();
+	}
+
+	@Override
+	public String toString() {
+		return ownMen + " men " + ownKings + " kings vs. " + opponentMen + " men " + opponentKings + " kings";
+	}
+}
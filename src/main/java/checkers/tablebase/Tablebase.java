@@ -0,0 +1,147 @@
+package checkers.tablebase;
+
+import checkers.CheckersBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Looks up the exact result of endgame positions in the tables written by
+ * {@link TablebaseGenerator}. The tables are memory-mapped, so a lookup is a
+ * single read from the page cache and the tables cost no heap. A tablebase
+ * can be shared between threads.
+ * <p>
+ * A result is a win or a loss for the player to move, with the number of turns
+ * until the loser cannot move, or a draw. Each table entry is one byte: 0 for a
+ * draw, and {@code 1 + distance} otherwise. Wins have an odd distance and
+ * losses an even one. The tables assume perfect play by both players, and do
+ * not know about the move limit of {@link CheckersBoard#play}.
+ */
+public class Tablebase {
+	public static final int UNKNOWN = -1;
+	public static final int DRAW = 0;
+
+	static final int HEADER_BYTES = 8;
+	static final int MAGIC = 0x43544231; // "CTB1"
+	static final int INVALID = 0xFF;
+	static final int MAX_DISTANCE = INVALID - 2;
+
+	private final MappedByteBuffer[] tables = new MappedByteBuffer[Material.codeCount()];
+	private final Material[] materials = new Material[Material.codeCount()];
+	private int maxPieces;
+
+	/**
+	 * Maps every table found in {@code directory}.
+	 */
+	public Tablebase(Path directory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.tb")) {
+			for (Path file : files) {
+				load(file);
+			}
+		}
+	}
+
+	/**
+	 * Maps a table, replacing any table of the same material.
+	 */
+	void load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (table.limit() < HEADER_BYTES || table.getInt(0) != MAGIC) {
+				throw new IOException(file + " is not a tablebase file!");
+			}
+			Material material = new Material(table.get(4), table.get(5), table.get(6), table.get(7));
+			if (table.limit() != HEADER_BYTES + material.size()) {
+				throw new IOException(file + " does not hold the " + material.size() + " positions of " + material + "!");
+			}
+			tables[material.code()] = table;
+			materials[material.code()] = material;
+			maxPieces = Math.max(maxPieces, material.getPieces());
+		}
+	}
+
+	/**
+	 * @return The most pieces of the positions that may be found.
+	 */
+	public int getMaxPieces() {
+		return maxPieces;
+	}
+
+	/**
+	 * @return The result of the position for the player to move, or {@link #UNKNOWN}
+	 * if its table is missing or a chained capture is in progress.
+	 */
+	public int probe(CheckersBoard board) {
+		if (board.isCaptureLock()) {
+			return UNKNOWN;
+		}
+		int black = board.getPieces(CheckersBoard.Player.BLACK);
+		int red = board.getPieces(CheckersBoard.Player.RED);
+		if (Integer.bitCount(black | red) > maxPieces) {
+			return UNKNOWN;
+		}
+		if (board.getCurrentPlayer() == CheckersBoard.Player.BLACK) {
+			return probe(black, red, board.getKings());
+		}
+		return probe(Material.flip(red), Material.flip(black), Material.flip(board.getKings()));
+	}
+
+	/**
+	 * Same as {@link #probe(CheckersBoard)}, for a position where the player to move plays upwards like Black.
+	 */
+	int probe(int own, int opponent, int kings) {
+		if (own == 0) {
+			return 1;
+		}
+		int ownKings = Integer.bitCount(own & kings);
+		int opponentKings = Integer.bitCount(opponent & kings);
+		int ownMen = Integer.bitCount(own) - ownKings;
+		int opponentMen = Integer.bitCount(opponent) - opponentKings;
+		if (ownMen + ownKings + opponentMen + opponentKings > Material.MAX_PIECES) {
+			return UNKNOWN;
+		}
+		int code = Material.code(ownMen, ownKings, opponentMen, opponentKings);
+		MappedByteBuffer table = tables[code];
+		if (table == null) {
+			return UNKNOWN;
+		}
+		int result = table.get(HEADER_BYTES + materials[code].index(own, opponent, kings)) & 0xFF;
+		return result == INVALID ? UNKNOWN : result;
+	}
+
+	public static boolean isWin(int result) {
+		return result > 0 && (result & 1) == 0;
+	}
+
+	public static boolean isLoss(int result) {
+		return result > 0 && (result & 1) == 1;
+	}
+
+	/**
+	 * @return The number of turns until the game is won or lost, or -1 for a draw or an unknown position.
+	 */
+	public static int distance(int result) {
+		return result > 0 ? result - 1 : -1;
+	}
+
+	/**
+	 * @return The header of the table file of {@code material}, which is followed by one byte per index.
+	 */
+	static ByteBuffer header(Material material) {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC);
+		header.put((byte) material.getOwnMen());
+		header.put((byte) material.getOwnKings());
+		header.put((byte) material.getOpponentMen());
+		header.put((byte) material.getOpponentKings());
+		header.flip();
+		return header;
+	}
+}
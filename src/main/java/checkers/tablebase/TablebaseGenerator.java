@@ -0,0 +1,324 @@
+package checkers.tablebase;
+
+import checkers.CheckersBitboard;
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Solves every endgame up to a number of pieces by retrograde analysis, and
+ * writes one table file per material for {@link Tablebase}.
+ * <p>
+ * The materials are solved from the fewest pieces and the most kings up, so
+ * that captures and crowning always lead to a table that is already written. A
+ * normal move leads to the material with the colors swapped, so each material
+ * is solved together with its swap:
+ * <ol>
+ * <li>Every position plays its moves on a board, following chained captures to
+ * the end of the turn. The results of the moves into solved tables are known;
+ * the other moves are counted.</li>
+ * <li>The positions are then resolved by increasing distance. A position is won
+ * as soon as a move leads to a lost position, and lost once all its moves lead
+ * to won positions. Each resolved position updates its predecessors, found by
+ * taking a normal move back.</li>
+ * <li>Whatever is left is a draw.</li>
+ * </ol>
+ * Usage: {@code TablebaseGenerator [-pieces N] [directory]}. Tables already in
+ * the directory are kept, so an interrupted run can be resumed.
+ */
+public class TablebaseGenerator {
+	public static final int DEFAULT_MAX_PIECES = 4;
+
+	// the distance of a position that has a move to a draw
+	private static final int CANNOT_LOSE = 0xFF;
+
+	private final Path directory;
+	private final Tablebase tablebase;
+	private final CheckersBoard board = CheckersBoard.initBoard();
+	private final int[][] moves = new int[Material.MAX_PIECES][PackedMove.MAX_MOVES];
+	private final int[] masks = new int[3];
+	private boolean verbose;
+
+	// the pair of materials being solved, and the state of their positions
+	private Material[] materials;
+	private int[] offsets;
+	private byte[] results;
+	private byte[] pendingMoves;
+	private byte[] winDistances;
+	private byte[] lossDistances;
+	private int maxDistance;
+
+	public TablebaseGenerator(Path directory) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.tablebase = new Tablebase(directory);
+	}
+
+	/**
+	 * @param verbose Whether to print the size, results and solving time of every table.
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+
+	/**
+	 * Solves the tables up to {@code maxPieces} pieces that are not in the directory yet.
+	 * @return The tablebase of the directory, including the new tables.
+	 */
+	public Tablebase generate(int maxPieces) throws IOException {
+		Set<Material> solved = new HashSet<>();
+		for (Material material : Material.solvingOrder(maxPieces)) {
+			if (!solved.add(material)) {
+				continue;
+			}
+			Material swap = material.swap();
+			solved.add(swap);
+			if (Files.exists(directory.resolve(material.fileName())) && Files.exists(directory.resolve(swap.fileName()))) {
+				continue;
+			}
+			long start = System.nanoTime();
+			solve(material.equals(swap) ? new Material[] { material } : new Material[] { material, swap });
+			for (int i = 0; i < materials.length; i++) {
+				write(i);
+				if (verbose) {
+					printStatistics(i, System.nanoTime() - start);
+				}
+			}
+		}
+		return tablebase;
+	}
+
+	private void solve(Material[] pair) {
+		materials = pair;
+		offsets = new int[pair.length];
+		int positions = 0;
+		for (int i = 0; i < pair.length; i++) {
+			offsets[i] = positions;
+			positions = Math.addExact(positions, pair[i].size());
+		}
+		results = new byte[positions];
+		pendingMoves = new byte[positions];
+		winDistances = new byte[positions];
+		lossDistances = new byte[positions];
+		maxDistance = 0;
+		for (int side = 0; side < pair.length; side++) {
+			for (int index = 0; index < pair[side].size(); index++) {
+				playMoves(side, offsets[side] + index, index);
+			}
+		}
+		int[] resolved = new int[1024];
+		for (int distance = 0; distance <= maxDistance; distance++) {
+			int resolvedCount = 0;
+			for (int position = 0; position < positions; position++) {
+				if (results[position] != Tablebase.DRAW) {
+					continue;
+				}
+				boolean won = distance > 0 && (winDistances[position] & 0xFF) == distance;
+				boolean lost = pendingMoves[position] == 0 && winDistances[position] == 0//
+						&& (lossDistances[position] & 0xFF) == distance;
+				if (won || lost) {
+					results[position] = (byte) (1 + distance);
+					if (resolvedCount == resolved.length) {
+						resolved = Arrays.copyOf(resolved, resolvedCount * 2);
+					}
+					resolved[resolvedCount++] = position;
+				}
+			}
+			for (int i = 0; i < resolvedCount; i++) {
+				updatePredecessors(resolved[i], distance);
+			}
+		}
+	}
+
+	/**
+	 * Plays every move of a position, recording the results of those that leave the pair of materials.
+	 */
+	private void playMoves(int side, int position, int index) {
+		if (!materials[side].decode(index, masks)) {
+			results[position] = (byte) Tablebase.INVALID;
+			return;
+		}
+		board.setPosition(masks[0], masks[1], masks[2], CheckersBoard.Player.BLACK);
+		int count = board.legalMoves(moves[0]);
+		if (count == 0) {
+			// mirrors CheckersBoard.play: a player who cannot move loses, unless neither player can move
+			if (!board.hasLegalAction(CheckersBoard.Player.RED)) {
+				lossDistances[position] = (byte) CANNOT_LOSE;
+			}
+			return;
+		}
+		playMoves(materials[materials.length - 1 - side], position, 0, count);
+	}
+
+	private void playMoves(Material swap, int position, int ply, int count) {
+		for (int i = 0; i < count; i++) {
+			board.makeMove(moves[ply][i]);
+			if (board.isCaptureLock()) {
+				playMoves(swap, position, ply + 1, board.legalMoves(moves[ply + 1]));
+			} else {
+				// seen from the opponent, who is now to move
+				int own = Material.flip(board.getPieces(CheckersBoard.Player.RED));
+				int opponent = Material.flip(board.getPieces(CheckersBoard.Player.BLACK));
+				int kings = Material.flip(board.getKings());
+				if (isMaterial(swap, own, opponent, kings)) {
+					pendingMoves[position]++;
+				} else {
+					int result = tablebase.probe(own, opponent, kings);
+					if (result == Tablebase.UNKNOWN) {
+						throw new IllegalStateException("The table of " + Material.of(own, opponent, kings) + " is missing!");
+					}
+					recordMove(position, result);
+				}
+			}
+			board.unmakeMove();
+		}
+	}
+
+	private static boolean isMaterial(Material material, int own, int opponent, int kings) {
+		return Integer.bitCount(own & ~kings) == material.getOwnMen()//
+				&& Integer.bitCount(own & kings) == material.getOwnKings()//
+				&& Integer.bitCount(opponent & ~kings) == material.getOpponentMen()//
+				&& Integer.bitCount(opponent & kings) == material.getOpponentKings();
+	}
+
+	/**
+	 * Updates a position with a move leading to {@code result}, seen from the opponent.
+	 */
+	private void recordMove(int position, int result) {
+		if (result == Tablebase.DRAW) {
+			lossDistances[position] = (byte) CANNOT_LOSE;
+		} else if (Tablebase.isLoss(result)) {
+			int distance = checkDistance(Tablebase.distance(result) + 1);
+			int winDistance = winDistances[position] & 0xFF;
+			if (winDistance == 0 || distance < winDistance) {
+				winDistances[position] = (byte) distance;
+			}
+		} else {
+			int distance = checkDistance(Tablebase.distance(result) + 1);
+			int lossDistance = lossDistances[position] & 0xFF;
+			if (lossDistance != CANNOT_LOSE && distance > lossDistance) {
+				lossDistances[position] = (byte) distance;
+			}
+		}
+	}
+
+	private int checkDistance(int distance) {
+		if (distance > Tablebase.MAX_DISTANCE) {
+			throw new IllegalStateException("A distance of " + distance + " turns does not fit in a table entry!");
+		}
+		maxDistance = Math.max(maxDistance, distance);
+		return distance;
+	}
+
+	/**
+	 * Takes back every normal move that leads to a position just resolved, and records its result in the position before.
+	 */
+	private void updatePredecessors(int position, int distance) {
+		int side = materials.length == 2 && position >= offsets[1] ? 1 : 0;
+		materials[side].decode(position - offsets[side], masks);
+		// seen from the player who just moved, which plays upwards
+		int mover = Material.flip(masks[1]);
+		int other = Material.flip(masks[0]);
+		int kings = Material.flip(masks[2]);
+		int empty = ~(mover | other);
+		int predecessorSide = materials.length - 1 - side;
+		Material predecessorMaterial = materials[predecessorSide];
+		int result = 1 + distance;
+		for (int pieces = mover; pieces != 0; pieces &= pieces - 1) {
+			int piece = pieces & -pieces;
+			boolean king = (kings & piece) != 0;
+			// a man only moves upwards, so it came from below
+			int sources = CheckersBitboard.downLeft(piece) | CheckersBitboard.downRight(piece);
+			if (king) {
+				sources |= CheckersBitboard.upLeft(piece) | CheckersBitboard.upRight(piece);
+			}
+			for (sources &= empty; sources != 0; sources &= sources - 1) {
+				int source = sources & -sources;
+				int own = mover ^ piece ^ source;
+				int ownKings = king ? kings ^ piece ^ source : kings;
+				// captures are forced, so the normal move was only legal if there was no capture
+				if (CheckersBitboard.jumpSources(own, own & ownKings, other, ~(own | other)) != 0) {
+					continue;
+				}
+				int predecessor = offsets[predecessorSide] + predecessorMaterial.index(own, other, ownKings);
+				if (results[predecessor] != Tablebase.DRAW) {
+					continue;
+				}
+				pendingMoves[predecessor]--;
+				recordMove(predecessor, result);
+			}
+		}
+	}
+
+	private void write(int side) throws IOException {
+		Material material = materials[side];
+		Path file = directory.resolve(material.fileName());
+		Path temporary = directory.resolve(material.fileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer header = Tablebase.header(material);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			ByteBuffer entries = ByteBuffer.wrap(results, offsets[side], material.size());
+			while (entries.hasRemaining()) {
+				channel.write(entries);
+			}
+		}
+		// a table only gets its final name once complete, so an interrupted run never leaves a partial table behind
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		tablebase.load(file);
+	}
+
+	private void printStatistics(int side, long elapsedNanos) {
+		long wins = 0;
+		long losses = 0;
+		long draws = 0;
+		int longestWin = 0;
+		for (int position = offsets[side]; position < offsets[side] + materials[side].size(); position++) {
+			int result = results[position] & 0xFF;
+			if (result == Tablebase.INVALID) {
+				continue;
+			}
+			if (Tablebase.isWin(result)) {
+				wins++;
+				longestWin = Math.max(longestWin, Tablebase.distance(result));
+			} else if (Tablebase.isLoss(result)) {
+				losses++;
+			} else {
+				draws++;
+			}
+		}
+		System.out.printf("%-16s %,12d positions  %,12d wins  %,12d losses  %,12d draws  longest win %3d turns  %,8d ms%n",//
+				materials[side].fileName(), wins + losses + draws, wins, losses, draws, longestWin, elapsedNanos / 1_000_000);
+	}
+
+	public static void main(String[] args) throws IOException {
+		int maxPieces = DEFAULT_MAX_PIECES;
+		Path directory = Paths.get("tablebase");
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-pieces")) {
+				maxPieces = Integer.parseInt(args[++i]);
+			} else if (!args[i].startsWith("-")) {
+				directory = Paths.get(args[i]);
+			} else {
+				System.err.println("Usage: TablebaseGenerator [-pieces N] [directory]");
+				System.exit(1);
+			}
+		}
+		TablebaseGenerator generator = new TablebaseGenerator(directory);
+		generator.setVerbose(true);
+		long start = System.nanoTime();
+		generator.generate(maxPieces);
+		System.out.printf("Solved up to %d pieces in %,d ms%n", maxPieces, (System.nanoTime() - start) / 1_000_000);
+	}
+}
@@ -0,0 +1,131 @@
+package checkers.tournament;
+
+import checkers.CheckersPlayer;
+
+/**
+ * The games played between two bots, counted from the point of view of the first one.
+ */
+public class MatchResult {
+	public enum Outcome {
+		FIRST_WINS, SECOND_WINS, DRAW;
+	}
+
+	// two-sided 95% confidence
+	private static final double Z_95 = 1.96;
+
+	private final Class<? extends CheckersPlayer> first;
+	private final Class<? extends CheckersPlayer> second;
+	private int wins;
+	private int losses;
+	private int draws;
+	private long firstMillis;
+	private long secondMillis;
+
+	public MatchResult(Class<? extends CheckersPlayer> first, Class<? extends CheckersPlayer> second) {
+		this.first = first;
+		this.second = second;
+	}
+
+	public void record(Outcome outcome) {
+		switch (outcome) {
+		case FIRST_WINS:
+			wins++;
+			break;
+		case SECOND_WINS:
+			losses++;
+			break;
+		default:
+			draws++;
+		}
+	}
+
+	/**
+	 * Adds the time each bot spent on its moves in a game.
+	 */
+	public void recordTime(long firstMillis, long secondMillis) {
+		this.firstMillis += firstMillis;
+		this.secondMillis += secondMillis;
+	}
+
+	public Class<? extends CheckersPlayer> getFirst() {
+		return first;
+	}
+
+	public Class<? extends CheckersPlayer> getSecond() {
+		return second;
+	}
+
+	public int getWins() {
+		return wins;
+	}
+
+	public int getLosses() {
+		return losses;
+	}
+
+	public int getDraws() {
+		return draws;
+	}
+
+	public long getFirstMillis() {
+		return firstMillis;
+	}
+
+	public long getSecondMillis() {
+		return secondMillis;
+	}
+
+	public int getGames() {
+		return wins + losses + draws;
+	}
+
+	/**
+	 * @return The points of the first bot per game, counting a draw as half a point.
+	 */
+	public double getScore() {
+		return getGames() == 0 ? 0.5 : (wins + draws / 2.0) / getGames();
+	}
+
+	/**
+	 * @return The Elo difference of the first bot over the second that the score suggests.
+	 */
+	public double getElo() {
+		return eloFromScore(getScore());
+	}
+
+	/**
+	 * @return Half the width of the 95% confidence interval of {@link #getElo()}.
+	 */
+	public double getEloMargin() {
+		int games = getGames();
+		if (games == 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double score = getScore();
+		double variance = (wins * square(1 - score) + losses * square(score) + draws * square(0.5 - score)) / games;
+		double margin = Z_95 * Math.sqrt(variance / games);
+		return (eloFromScore(score + margin) - eloFromScore(score - margin)) / 2;
+	}
+
+	private static double eloFromScore(double score) {
+		if (score <= 0) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		if (score >= 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return -400 * Math.log10(1 / score - 1);
+	}
+
+	private static double square(double value) {
+		return value * value;
+	}
+
+	@Override
+	public String toString() {
+		int games = Math.max(1, getGames());
+		return String.format("%s vs %s: +%d -%d =%d  score %.1f%%  Elo %+.0f \u00B1 %.0f  time %d/%d ms per game",//
+				first.getSimpleName(), second.getSimpleName(), wins, losses, draws,//
+				100 * getScore(), getElo(), getEloMargin(), firstMillis / games, secondMillis / games);
+	}
+}
@@ -0,0 +1,204 @@
+package checkers.tournament;
+
+import checkers.CheckersBoard;
+import checkers.CheckersPlayer;
+import checkers.GameClock;
+import checkers.GameListener;
+import checkers.TimeControl;
+import checkers.record.GameRecordWriter;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays headless games between bots on a thread pool. Every pair of bots
+ * plays the same number of games, alternating colors, and every game gets
+ * new instances of the bots, so they need a public no-argument constructor.
+ * <p>
+ * Under a time control, the bots are asked for their moves on threads of their
+ * own, so that a bot that overruns its time loses without holding up the games
+ * thread, and the time each bot used is added up.
+ * <p>
+ * Usage: {@code Tournament [-games N] [-threads N] [-record file] [-millis N] [-clock N] [-increment N] BotClass BotClass [BotClass...]}
+ */
+public class Tournament {
+	private final List<Class<? extends CheckersPlayer>> players;
+	private final int gamesPerPairing;
+	private final int threads;
+	private GameRecordWriter recordWriter;
+	private TimeControl timeControl = TimeControl.UNLIMITED;
+
+	public Tournament(List<Class<? extends CheckersPlayer>> players, int gamesPerPairing, int threads) {
+		if (players.size() < 2) {
+			throw new IllegalArgumentException("A tournament needs at least 2 players!");
+		}
+		this.players = players;
+		this.gamesPerPairing = gamesPerPairing;
+		this.threads = threads;
+	}
+
+	/**
+	 * @param recordWriter Where to write every game, or {@code null} not to keep them.
+	 */
+	public void setRecordWriter(GameRecordWriter recordWriter) {
+		this.recordWriter = recordWriter;
+	}
+
+	public void setTimeControl(TimeControl timeControl) {
+		this.timeControl = timeControl;
+	}
+
+	/**
+	 * Plays a round-robin between all the players.
+	 * @return One result per pair of players.
+	 */
+	public List<MatchResult> run() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		// a bot that ignores its interruption keeps its thread, so they must not keep the JVM alive
+		ExecutorService botPool = timeControl.isUnlimited() ? null : Executors.newCachedThreadPool(task -> {
+			Thread thread = new Thread(task, "bot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<MatchResult> results = new ArrayList<>();
+			List<List<Future<MatchResult.Outcome>>> games = new ArrayList<>();
+			List<List<GameClock>> clocks = new ArrayList<>();
+			for (int i = 0; i < players.size(); i++) {
+				for (int j = i + 1; j < players.size(); j++) {
+					Class<? extends CheckersPlayer> first = players.get(i);
+					Class<? extends CheckersPlayer> second = players.get(j);
+					List<Future<MatchResult.Outcome>> pairingGames = new ArrayList<>();
+					List<GameClock> pairingClocks = new ArrayList<>();
+					for (int game = 0; game < gamesPerPairing; game++) {
+						boolean firstIsBlack = game % 2 == 0;
+						GameListener listener = recordWriter == null ? GameListener.NO_OP : recordWriter.newGameListener();
+						GameClock clock = new GameClock(timeControl, botPool);
+						pairingGames.add(pool.submit(() -> playGame(first, second, firstIsBlack, listener, clock)));
+						pairingClocks.add(clock);
+					}
+					results.add(new MatchResult(first, second));
+					games.add(pairingGames);
+					clocks.add(pairingClocks);
+				}
+			}
+			for (int i = 0; i < results.size(); i++) {
+				for (int game = 0; game < gamesPerPairing; game++) {
+					results.get(i).record(waitFor(games.get(i).get(game)));
+					GameClock clock = clocks.get(i).get(game);
+					CheckersBoard.Player firstColor = game % 2 == 0 ? CheckersBoard.Player.BLACK : CheckersBoard.Player.RED;
+					CheckersBoard.Player secondColor = firstColor == CheckersBoard.Player.BLACK ? CheckersBoard.Player.RED : CheckersBoard.Player.BLACK;
+					results.get(i).recordTime(clock.getUsedMillis(firstColor), clock.getUsedMillis(secondColor));
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+			if (botPool != null) {
+				botPool.shutdownNow();
+			}
+		}
+	}
+
+	static MatchResult.Outcome playGame(Class<? extends CheckersPlayer> firstClass, Class<? extends CheckersPlayer> secondClass, boolean firstIsBlack,
+			GameListener listener, GameClock clock) {
+		CheckersPlayer first = newPlayer(firstClass);
+		CheckersPlayer second = newPlayer(secondClass);
+		CheckersBoard board = CheckersBoard.initBoard();
+		Optional<CheckersPlayer> loser;
+		try {
+			loser = firstIsBlack ? board.play(first, second, listener, clock) : board.play(second, first, listener, clock);
+		} finally {
+			CheckersPlayer.close(first);
+			CheckersPlayer.close(second);
+		}
+		if (loser.isEmpty()) {
+			return MatchResult.Outcome.DRAW;
+		}
+		return loser.get() == first ? MatchResult.Outcome.SECOND_WINS : MatchResult.Outcome.FIRST_WINS;
+	}
+
+	private static CheckersPlayer newPlayer(Class<? extends CheckersPlayer> playerClass) {
+		try {
+			return playerClass.getDeclaredConstructor().newInstance();
+		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+			throw new IllegalArgumentException(playerClass.getName() + " needs a public no-argument constructor!", e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException("Could not create " + playerClass.getName(), e.getCause());
+		}
+	}
+
+	private static MatchResult.Outcome waitFor(Future<MatchResult.Outcome> game) throws InterruptedException {
+		try {
+			return game.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A game failed!", e.getCause());
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException, IOException {
+		int games = 100;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String recordFile = null;
+		long moveMillis = 0;
+		long gameMillis = 0;
+		long incrementMillis = 0;
+		List<Class<? extends CheckersPlayer>> players = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-games")) {
+				games = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-record")) {
+				recordFile = args[++i];
+			} else if (args[i].equals("-millis")) {
+				moveMillis = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-clock")) {
+				gameMillis = Long.parseLong(args[++i]);
+			} else if (args[i].equals("-increment")) {
+				incrementMillis = Long.parseLong(args[++i]);
+			} else {
+				players.add(playerClass(args[i]));
+			}
+		}
+		if (players.size() < 2) {
+			System.err.println("Usage: Tournament [-games N] [-threads N] [-record file] [-millis N] [-clock N] [-increment N] BotClass BotClass [BotClass...]");
+			System.exit(1);
+		}
+		Tournament tournament = new Tournament(players, games, threads);
+		GameRecordWriter recordWriter = recordFile == null ? null : new GameRecordWriter(Files.newOutputStream(Paths.get(recordFile)));
+		tournament.setRecordWriter(recordWriter);
+		tournament.setTimeControl(new TimeControl(moveMillis, gameMillis, incrementMillis));
+		long start = System.nanoTime();
+		List<MatchResult> results;
+		try {
+			results = tournament.run();
+		} finally {
+			if (recordWriter != null) {
+				recordWriter.close();
+			}
+		}
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		for (MatchResult result : results) {
+			System.out.println(result);
+		}
+		System.out.println(results.size() * games + " games in " + elapsedMillis + " ms on " + threads + " threads");
+	}
+
+	private static Class<? extends CheckersPlayer> playerClass(String name) {
+		try {
+			return Class.forName(name).asSubclass(CheckersPlayer.class);
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IllegalArgumentException(name + " is not a CheckersPlayer class!", e);
+		}
+	}
+}
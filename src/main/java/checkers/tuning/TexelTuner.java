@@ -0,0 +1,299 @@
+package checkers.tuning;
+
+import checkers.eval.DefaultEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fits the weights of {@link DefaultEvaluator} to labeled positions, as in the
+ * Texel method: the score of a position, through a logistic curve, predicts the
+ * result of its game, and the weights minimize the mean squared error of the
+ * predictions.
+ * <p>
+ * The scale of the curve is first fitted to the starting weights, then the
+ * weights follow the gradient of the error over mini-batches, with the Adam
+ * update rule so that one learning rate suits both the material weights and
+ * the small positional ones. The gradient of a batch is summed over chunks of
+ * positions on a {@link ForkJoinPool}. A share of the positions is kept aside
+ * to check that the weights do not overfit.
+ * <p>
+ * Usage: {@code TexelTuner [-epochs N] [-batch N] [-rate R] [-scale K] [-validation R] [-threads N] [-init file] [-out file] positions...}
+ */
+public class TexelTuner {
+	public static final int DEFAULT_BATCH_SIZE = 1 << 14;
+	public static final double DEFAULT_LEARNING_RATE = 0.5;
+	public static final double DEFAULT_VALIDATION = 0.05;
+
+	private static final int FEATURES = DefaultEvaluator.FEATURES;
+	// the fewest positions a fork-join task sums on its own
+	private static final int CHUNK_SIZE = 4096;
+	private static final double LN_10 = Math.log(10);
+	private static final double BETA_1 = 0.9;
+	private static final double BETA_2 = 0.999;
+	private static final double EPSILON = 1e-8;
+
+	private final TrainingSet data;
+	private final int trainingSize;
+	private final ForkJoinPool pool;
+	private final double[] weights = new double[FEATURES];
+	private final double[] firstMoments = new double[FEATURES];
+	private final double[] secondMoments = new double[FEATURES];
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private double learningRate = DEFAULT_LEARNING_RATE;
+	private double scale = Double.NaN;
+	private long steps;
+	private boolean verbose;
+
+	/**
+	 * @param data The positions, which should be shuffled, as the last {@code validation} share of them is kept aside.
+	 * @param validation The share of the positions not to train on, from 0 to 1.
+	 */
+	public TexelTuner(TrainingSet data, DefaultEvaluator start, double validation, ForkJoinPool pool) {
+		if (validation < 0 || validation >= 1) {
+			throw new IllegalArgumentException("The validation share must be from 0 to 1!");
+		}
+		this.data = data;
+		this.trainingSize = (int) (data.size() * (1 - validation));
+		this.pool = pool;
+		for (int feature = 0; feature < FEATURES; feature++) {
+			weights[feature] = start.getWeight(feature);
+		}
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public void setLearningRate(double learningRate) {
+		this.learningRate = learningRate;
+	}
+
+	/**
+	 * @param scale The scale of the logistic curve, or {@code NaN} to fit it to the starting weights.
+	 */
+	public void setScale(double scale) {
+		this.scale = scale;
+	}
+
+	/**
+	 * @param verbose Whether to print the time and the losses of every epoch.
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * @return The weights, rounded to the integers {@link DefaultEvaluator} uses.
+	 */
+	public DefaultEvaluator getEvaluator() {
+		int[] rounded = new int[FEATURES];
+		for (int feature = 0; feature < FEATURES; feature++) {
+			rounded[feature] = (int) Math.round(weights[feature]);
+		}
+		return new DefaultEvaluator(rounded);
+	}
+
+	/**
+	 * Finds the scale of the logistic curve that best fits the current weights, by ternary search.
+	 */
+	public double fitScale() {
+		double low = 0.01;
+		double high = 10;
+		for (int i = 0; i < 60; i++) {
+			double first = low + (high - low) / 3;
+			double second = high - (high - low) / 3;
+			if (loss(weights, first, 0, trainingSize) < loss(weights, second, 0, trainingSize)) {
+				high = second;
+			} else {
+				low = first;
+			}
+		}
+		scale = (low + high) / 2;
+		return scale;
+	}
+
+	public double getTrainingLoss() {
+		return loss(weights, scale(), 0, trainingSize);
+	}
+
+	/**
+	 * @return The loss on the positions kept aside, or {@code NaN} if there are none.
+	 */
+	public double getValidationLoss() {
+		return trainingSize == data.size() ? Double.NaN : loss(weights, scale(), trainingSize, data.size());
+	}
+
+	/**
+	 * Runs the given number of passes over the training positions.
+	 * @return The training loss after the last one.
+	 */
+	public double tune(int epochs) {
+		double k = scale();
+		if (verbose) {
+			System.out.printf("%d training positions, %d for validation, scale %.4f, loss %.6f%n", trainingSize, data.size() - trainingSize, k,
+					getTrainingLoss());
+		}
+		double loss = Double.NaN;
+		for (int epoch = 1; epoch <= epochs; epoch++) {
+			long start = System.nanoTime();
+			for (int from = 0; from < trainingSize; from += batchSize) {
+				step(k, from, Math.min(trainingSize, from + batchSize));
+			}
+			long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+			loss = getTrainingLoss();
+			if (verbose) {
+				System.out.printf("epoch %d: %d ms, loss %.6f, validation %.6f, %s%n", epoch, elapsedMillis, loss, getValidationLoss(), getEvaluator());
+			}
+		}
+		return loss;
+	}
+
+	private double scale() {
+		return Double.isNaN(scale) ? fitScale() : scale;
+	}
+
+	/**
+	 * Moves the weights against the gradient of the loss over a batch.
+	 */
+	private void step(double k, int from, int to) {
+		double[] sums = pool.invoke(new SumTask(data, weights.clone(), k, from, to, true));
+		steps++;
+		double firstCorrection = 1 - Math.pow(BETA_1, steps);
+		double secondCorrection = 1 - Math.pow(BETA_2, steps);
+		for (int feature = 0; feature < FEATURES; feature++) {
+			double gradient = sums[feature] / (to - from);
+			firstMoments[feature] = BETA_1 * firstMoments[feature] + (1 - BETA_1) * gradient;
+			secondMoments[feature] = BETA_2 * secondMoments[feature] + (1 - BETA_2) * gradient * gradient;
+			double first = firstMoments[feature] / firstCorrection;
+			double second = secondMoments[feature] / secondCorrection;
+			weights[feature] -= learningRate * first / (Math.sqrt(second) + EPSILON);
+		}
+	}
+
+	private double loss(double[] weights, double k, int from, int to) {
+		if (from == to) {
+			return Double.NaN;
+		}
+		return pool.invoke(new SumTask(data, weights, k, from, to, false))[FEATURES] / (to - from);
+	}
+
+	/**
+	 * Sums the squared errors of a range of positions and, if asked, the gradient
+	 * of those errors, splitting the range in halves down to {@link #CHUNK_SIZE}.
+	 * @return The gradient sums by feature, then the sum of the squared errors.
+	 */
+	private static class SumTask extends RecursiveTask<double[]> {
+		private final TrainingSet data;
+		private final double[] weights;
+		private final double k;
+		private final int from;
+		private final int to;
+		private final boolean gradient;
+
+		SumTask(TrainingSet data, double[] weights, double k, int from, int to, boolean gradient) {
+			this.data = data;
+			this.weights = weights;
+			this.k = k;
+			this.from = from;
+			this.to = to;
+			this.gradient = gradient;
+		}
+
+		@Override
+		protected double[] compute() {
+			if (to - from > CHUNK_SIZE) {
+				int middle = (from + to) >>> 1;
+				SumTask left = new SumTask(data, weights, k, from, middle, gradient);
+				left.fork();
+				double[] sums = new SumTask(data, weights, k, middle, to, gradient).compute();
+				double[] leftSums = left.join();
+				for (int i = 0; i <= FEATURES; i++) {
+					sums[i] += leftSums[i];
+				}
+				return sums;
+			}
+			byte[] features = data.features();
+			byte[] results = data.results();
+			// the slope of the logistic curve, per point of score
+			double slope = k * LN_10 / 400;
+			double[] sums = new double[FEATURES + 1];
+			for (int position = from; position < to; position++) {
+				int offset = position * FEATURES;
+				double score = 0;
+				for (int feature = 0; feature < FEATURES; feature++) {
+					score += weights[feature] * features[offset + feature];
+				}
+				double predicted = 1 / (1 + Math.exp(-slope * score));
+				double error = results[position] * 0.5 - predicted;
+				sums[FEATURES] += error * error;
+				if (gradient) {
+					double derivative = -2 * error * predicted * (1 - predicted) * slope;
+					for (int feature = 0; feature < FEATURES; feature++) {
+						sums[feature] += derivative * features[offset + feature];
+					}
+				}
+			}
+			return sums;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int epochs = 20;
+		int batchSize = DEFAULT_BATCH_SIZE;
+		double learningRate = DEFAULT_LEARNING_RATE;
+		double scale = Double.NaN;
+		double validation = DEFAULT_VALIDATION;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String init = null;
+		String out = "weights.txt";
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-epochs")) {
+				epochs = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-batch")) {
+				batchSize = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-rate")) {
+				learningRate = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("-scale")) {
+				scale = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("-validation")) {
+				validation = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-init")) {
+				init = args[++i];
+			} else if (args[i].equals("-out")) {
+				out = args[++i];
+			} else {
+				files.add(Paths.get(args[i]));
+			}
+		}
+		if (files.isEmpty()) {
+			System.err.println("Usage: TexelTuner [-epochs N] [-batch N] [-rate R] [-scale K] [-validation R] [-threads N] [-init file] [-out file] positions...");
+			System.exit(1);
+		}
+		long start = System.nanoTime();
+		TrainingSet data = TrainingSet.load(files);
+		data.shuffle(start);
+		System.out.println("Loaded " + data.size() + " positions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+		DefaultEvaluator evaluator = init == null ? new DefaultEvaluator() : DefaultEvaluator.load(Paths.get(init));
+		TexelTuner tuner = new TexelTuner(data, evaluator, validation, new ForkJoinPool(threads));
+		tuner.setBatchSize(batchSize);
+		tuner.setLearningRate(learningRate);
+		tuner.setScale(scale);
+		tuner.setVerbose(true);
+		tuner.tune(epochs);
+		tuner.getEvaluator().save(Paths.get(out));
+		System.out.println("Wrote " + tuner.getEvaluator() + " to " + out);
+	}
+}
@@ -0,0 +1,108 @@
+package checkers.tuning;
+
+import checkers.eval.DefaultEvaluator;
+import checkers.selfplay.PositionReader;
+import checkers.selfplay.PositionWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The features of labeled positions, as read from the files of {@link PositionWriter},
+ * kept in two parallel {@code byte} arrays: one with {@link DefaultEvaluator#FEATURES}
+ * bytes per position, and one with the result of each position. Every feature of
+ * {@link DefaultEvaluator} fits in a byte, so ten million positions take 70 MB.
+ */
+public class TrainingSet {
+	private final byte[] features;
+	private final byte[] results;
+	private final int size;
+
+	TrainingSet(byte[] features, byte[] results, int size) {
+		this.features = features;
+		this.results = results;
+		this.size = size;
+	}
+
+	/**
+	 * Reads the positions of the given files. Their sizes give the number of positions, so the arrays are allocated once.
+	 * @throws IOException If a file cannot be read or is not a position file.
+	 */
+	public static TrainingSet load(List<Path> files) throws IOException {
+		long total = 0;
+		for (Path file : files) {
+			total += Files.size(file) / PositionWriter.BYTES_PER_POSITION;
+		}
+		if (total * DefaultEvaluator.FEATURES > Integer.MAX_VALUE - 8) {
+			throw new IOException("Too many positions: " + total + "!");
+		}
+		byte[] features = new byte[(int) total * DefaultEvaluator.FEATURES];
+		byte[] results = new byte[(int) total];
+		int[] vector = new int[DefaultEvaluator.FEATURES];
+		int size = 0;
+		for (Path file : files) {
+			try (InputStream in = Files.newInputStream(file); PositionReader reader = new PositionReader(in)) {
+				while (reader.next()) {
+					DefaultEvaluator.features(reader.getBlack(), reader.getRed(), reader.getKings(), vector, 0);
+					for (int feature = 0; feature < DefaultEvaluator.FEATURES; feature++) {
+						if (vector[feature] != (byte) vector[feature]) {
+							throw new IOException(file + ": feature " + DefaultEvaluator.featureName(feature) + " is out of range!");
+						}
+						features[size * DefaultEvaluator.FEATURES + feature] = (byte) vector[feature];
+					}
+					results[size++] = (byte) reader.getResult();
+				}
+			}
+		}
+		return new TrainingSet(features, results, size);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return A feature of a position, for Black minus Red.
+	 */
+	public int feature(int position, int feature) {
+		return features[position * DefaultEvaluator.FEATURES + feature];
+	}
+
+	/**
+	 * @return The result of the game of a position, for Black, from 0 for a loss to 1 for a win.
+	 */
+	public double result(int position) {
+		return results[position] / 2.0;
+	}
+
+	/**
+	 * Puts the positions in a random order, so that consecutive ranges are fair samples.
+	 */
+	public void shuffle(long seed) {
+		Random random = new Random(seed);
+		byte[] swap = new byte[DefaultEvaluator.FEATURES];
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int a = i * DefaultEvaluator.FEATURES;
+			int b = j * DefaultEvaluator.FEATURES;
+			System.arraycopy(features, a, swap, 0, DefaultEvaluator.FEATURES);
+			System.arraycopy(features, b, features, a, DefaultEvaluator.FEATURES);
+			System.arraycopy(swap, 0, features, b, DefaultEvaluator.FEATURES);
+			byte result = results[i];
+			results[i] = results[j];
+			results[j] = result;
+		}
+	}
+
+	byte[] features() {
+		return features;
+	}
+
+	byte[] results() {
+		return results;
+	}
+}
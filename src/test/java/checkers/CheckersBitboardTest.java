@@ -0,0 +1,62 @@
+package checkers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CheckersBitboardTest {
+	@Test
+	public void squareRoundTripTest() {
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			int row = CheckersBitboard.row(square);
+			int col = CheckersBitboard.col(square);
+			assertTrue(CheckersBitboard.isPlayable(row, col));
+			assertEquals(square, CheckersBitboard.square(row, col));
+		}
+	}
+
+	@Test
+	public void shiftTest() {
+		int square = CheckersBitboard.bit(3, 4);
+		assertEquals(CheckersBitboard.bit(2, 5), CheckersBitboard.upRight(square));
+		assertEquals(CheckersBitboard.bit(2, 3), CheckersBitboard.upLeft(square));
+		assertEquals(CheckersBitboard.bit(4, 5), CheckersBitboard.downRight(square));
+		assertEquals(CheckersBitboard.bit(4, 3), CheckersBitboard.downLeft(square));
+		// pieces on the edges have nowhere to go
+		assertEquals(0, CheckersBitboard.upRight(CheckersBitboard.bit(0, 7)));
+		assertEquals(0, CheckersBitboard.upLeft(CheckersBitboard.bit(5, 0)));
+		assertEquals(0, CheckersBitboard.downRight(CheckersBitboard.bit(7, 6)));
+		assertEquals(0, CheckersBitboard.downLeft(CheckersBitboard.bit(3, 0)));
+	}
+
+	@Test
+	public void tablesTest() {
+		for (int square = 0; square < CheckersBitboard.SQUARES; square++) {
+			int bit = 1 << square;
+			int[] steps = { CheckersBitboard.upLeft(bit), CheckersBitboard.upRight(bit), CheckersBitboard.downLeft(bit), CheckersBitboard.downRight(bit) };
+			for (int direction = 0; direction < CheckersBitboard.DIRECTIONS; direction++) {
+				int jump = direction == CheckersBitboard.UP_LEFT ? CheckersBitboard.upLeft(steps[direction])//
+						: direction == CheckersBitboard.UP_RIGHT ? CheckersBitboard.upRight(steps[direction])//
+						: direction == CheckersBitboard.DOWN_LEFT ? CheckersBitboard.downLeft(steps[direction])//
+						: CheckersBitboard.downRight(steps[direction]);
+				assertEquals(steps[direction], CheckersBitboard.neighborBit(square, direction));
+				assertEquals(jump, CheckersBitboard.jumpBit(square, direction));
+				assertEquals(steps[direction] == 0 ? -1 : Integer.numberOfTrailingZeros(steps[direction]), CheckersBitboard.neighbor(square, direction));
+				assertEquals(jump == 0 ? -1 : Integer.numberOfTrailingZeros(jump), CheckersBitboard.jump(square, direction));
+			}
+		}
+	}
+
+	@Test
+	public void initialMovesTest() {
+		CheckersBoard initBoard = CheckersBoard.initBoard();
+		assertEquals(7, initBoard.possibleMoves().size());
+		assertEquals(7, initBoard.possibleMoves(CheckersBoard.Player.RED).size());
+		assertTrue(initBoard.possibleCaptures().isEmpty());
+		CheckersMove first = initBoard.possibleMoves().get(0);
+		assertEquals(5, first.getStartRow());
+		assertEquals(0, first.getStartCol());
+		assertEquals(4, first.getEndRow());
+		assertEquals(1, first.getEndCol());
+	}
+}
@@ -0,0 +1,163 @@
+package checkers;
+
+import checkers.exception.BadMoveException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CheckersBoardTest {
+	@Test
+	public void makeUnmakeTest() {
+		Random random = new Random(42);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		for (int game = 0; game < 20; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			CheckersBoard[] history = new CheckersBoard[200];
+			int plies = 0;
+			while (plies < history.length) {
+				int count = board.legalMoves(moves);
+				if (count == 0) {
+					break;
+				}
+				history[plies++] = board.clone();
+				board.makeMove(moves[random.nextInt(count)]);
+			}
+			assertEquals(plies, board.getUndoDepth());
+			while (plies > 0) {
+				board.unmakeMove();
+				CheckersBoard expected = history[--plies];
+				assertEquals(expected, board);
+				assertTrue(Arrays.deepEquals(expected.getBoard(), board.getBoard()));
+				assertEquals(expected.isCaptureLock(), board.isCaptureLock());
+				assertEquals(expected.possibleMoves().size(), board.possibleMoves().size());
+			}
+		}
+	}
+
+	@Test
+	public void zobristKeyTest() throws BadMoveException {
+		CheckersMove blackLeft = CheckersMove.builder().fromPosition(5, 0).toPosition(4, 1).build();
+		CheckersMove blackRight = CheckersMove.builder().fromPosition(5, 2).toPosition(4, 3).build();
+		CheckersMove red = CheckersMove.builder().fromPosition(2, 7).toPosition(3, 6).build();
+		CheckersMove redAgain = CheckersMove.builder().fromPosition(1, 6).toPosition(2, 7).build();
+		CheckersBoard first = CheckersBoard.initBoard();
+		CheckersBoard second = CheckersBoard.initBoard();
+		assertEquals(first.zobristKey(), second.zobristKey());
+		first.processMove(blackLeft);
+		first.processMove(red);
+		first.processMove(blackRight);
+		second.processMove(blackRight);
+		second.processMove(red);
+		second.processMove(blackLeft);
+		assertEquals(first.zobristKey(), second.zobristKey());
+		first.processMove(redAgain);
+		assertNotEquals(first.zobristKey(), second.zobristKey());
+		second.processMove(redAgain);
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertEquals(first.zobristKey(), first.clone().zobristKey());
+		// the same pieces with the other side to move are a different position
+		CheckersBoard otherSide = first.clone();
+		otherSide.switchTurn();
+		assertNotEquals(first, otherSide);
+		assertNotEquals(first.zobristKey(), otherSide.zobristKey());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void unmakeWithoutMoveTest() {
+		CheckersBoard.initBoard().unmakeMove();
+	}
+
+	@Test
+	public void positionTest() {
+		assertEquals("B:rrrrrrrrrrrr........bbbbbbbbbbbb", CheckersBoard.initBoard().position());
+		assertEquals(CheckersBoard.initBoard(), CheckersBoard.of("B:rrrrrrrrrrrr........bbbbbbbbbbbb"));
+		Random random = new Random(7);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		CheckersBoard copy = CheckersBoard.initBoard();
+		StringBuilder text = new StringBuilder();
+		for (int game = 0; game < 20; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0, count = board.legalMoves(moves); ply < 200 && count > 0; ply++, count = board.legalMoves(moves)) {
+				board.makeMove(moves[random.nextInt(count)]);
+				if (board.isCaptureLock()) {
+					continue;
+				}
+				text.setLength(0);
+				copy.setPosition(board.appendPosition(text));
+				assertEquals(board, copy);
+				assertTrue(Arrays.deepEquals(board.getBoard(), copy.getBoard()));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void uncrownedPieceOnCrowningRowTest() {
+		CheckersBoard.of(CheckersBitboard.bit(0, 1), 0, 0, CheckersBoard.Player.RED);
+	}
+
+	@Test
+	public void pieceCountsTest() {
+		Random random = new Random(11);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		for (int game = 0; game < 20; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0, count = board.legalMoves(moves); ply < 200 && count > 0; ply++, count = board.legalMoves(moves)) {
+				board.makeMove(moves[random.nextInt(count)]);
+				for (CheckersBoard.Player player : CheckersBoard.Player.values()) {
+					char man = player == CheckersBoard.Player.BLACK ? CheckersBoard.BLACK_PLAIN : CheckersBoard.RED_PLAIN;
+					char king = player == CheckersBoard.Player.BLACK ? CheckersBoard.BLACK_CROWNED : CheckersBoard.RED_CROWNED;
+					assertEquals(count(board, man), board.countMen(player));
+					assertEquals(count(board, king), board.countKings(player));
+					assertEquals(count(board, man) + count(board, king), board.countPiecesOfPlayer(player));
+				}
+			}
+		}
+		// the kings of one player are not counted for the other
+		CheckersBoard board = CheckersBoard.of(CheckersBitboard.bit(5, 0), CheckersBitboard.bit(2, 1), CheckersBitboard.bit(2, 1), CheckersBoard.Player.BLACK);
+		assertEquals(1, board.countPiecesOfPlayer(CheckersBoard.Player.BLACK));
+		assertEquals(0, board.countKings(CheckersBoard.Player.BLACK));
+	}
+
+	@Test
+	public void hasLegalActionTest() {
+		Random random = new Random(5);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		for (int game = 0; game < 50; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0; ply < 300; ply++) {
+				int count = board.legalMoves(moves);
+				assertEquals(count > 0, board.hasLegalAction());
+				if (!board.isCaptureLock()) {
+					CheckersBoard.Player other = board.otherPlayer();
+					boolean otherCanMove = board.possibleMoves(other, moves) > 0 || board.possibleCaptures(other, moves) > 0;
+					assertEquals(otherCanMove, board.hasLegalAction(other));
+					assertEquals(board.possibleCaptures(other, moves) > 0, board.isCapturePossible(other));
+					count = board.legalMoves(moves);
+				}
+				if (count == 0) {
+					break;
+				}
+				board.makeMove(moves[random.nextInt(count)]);
+			}
+		}
+		// the captures of Red, asked while Black is to move
+		CheckersBoard board = CheckersBoard.of(CheckersBitboard.bit(3, 2) | CheckersBitboard.bit(7, 0), CheckersBitboard.bit(2, 1), 0, CheckersBoard.Player.BLACK);
+		assertTrue(board.isCapturePossible(CheckersBoard.Player.RED));
+	}
+
+	private static int count(CheckersBoard board, char piece) {
+		int count = 0;
+		for (char[] row : board.getBoard()) {
+			for (char square : row) {
+				if (square == piece) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+}
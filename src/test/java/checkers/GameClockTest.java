@@ -0,0 +1,116 @@
+package checkers;
+
+import checkers.bot.gray.GrayRandomBot;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class GameClockTest {
+	private static final CheckersPlayer SLEEPER = board -> {
+		try {
+			Thread.sleep(10_000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return new GrayRandomBot().play(board);
+	};
+
+	@Test
+	public void timeoutLosesTest() {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			GameClock clock = new GameClock(TimeControl.perMove(50), executor);
+			GameListener.GameEndReason[] endReason = new GameListener.GameEndReason[1];
+			long start = System.nanoTime();
+			Optional<CheckersPlayer> loser = CheckersBoard.initBoard().play(new GrayRandomBot(), SLEEPER, new GameListener() {
+				@Override
+				public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+					assertEquals(Optional.of(CheckersBoard.Player.RED), loser);
+					endReason[0] = reason;
+				}
+			}, clock);
+			assertSame(SLEEPER, loser.get());
+			assertEquals(GameListener.GameEndReason.TIMEOUT, endReason[0]);
+			// the sleeper was interrupted rather than waited for
+			assertTrue(System.nanoTime() - start < 5_000_000_000L);
+			assertEquals(50, clock.getUsedMillis(CheckersBoard.Player.RED));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void playerErrorLosesTest() {
+		RuntimeException failure = new IllegalStateException("broken bot");
+		CheckersPlayer broken = board -> {
+			throw failure;
+		};
+		Throwable[] error = new Throwable[1];
+		GameListener.GameEndReason[] endReason = new GameListener.GameEndReason[1];
+		Optional<CheckersPlayer> loser = CheckersBoard.initBoard().play(broken, new GrayRandomBot(), new GameListener() {
+			@Override
+			public void playerFailed(CheckersBoard board, CheckersPlayer agent, Throwable e) {
+				assertSame(broken, agent);
+				error[0] = e;
+			}
+
+			@Override
+			public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+				endReason[0] = reason;
+			}
+		});
+		assertSame(broken, loser.get());
+		assertSame(failure, error[0]);
+		assertEquals(GameListener.GameEndReason.PLAYER_ERROR, endReason[0]);
+	}
+
+	@Test
+	public void fischerIncrementTest() throws Exception {
+		GameClock clock = new GameClock(TimeControl.fischer(1000, 100));
+		CheckersBoard board = CheckersBoard.initBoard();
+		assertEquals(1000, clock.getMoveBudgetMillis(CheckersBoard.Player.BLACK));
+		clock.ask(new GrayRandomBot(), board, CheckersBoard.Player.BLACK);
+		clock.endTurn(CheckersBoard.Player.BLACK);
+		long remaining = clock.getRemainingMillis(CheckersBoard.Player.BLACK);
+		assertTrue(remaining > 1000 && remaining <= 1100);
+		assertEquals(1000, clock.getRemainingMillis(CheckersBoard.Player.RED));
+		assertEquals(Long.MAX_VALUE, new GameClock(TimeControl.UNLIMITED).getMoveBudgetMillis(CheckersBoard.Player.RED));
+	}
+
+	@Test
+	public void incrementOncePerTurnTest() {
+		GameClock clock = new GameClock(TimeControl.fischer(1000, 100));
+		// Black takes both red pieces in one turn of two steps
+		CheckersBoard board = CheckersBoard.of(CheckersBitboard.bit(6, 1), CheckersBitboard.bit(5, 2) | CheckersBitboard.bit(3, 4), 0, CheckersBoard.Player.BLACK);
+		int[] steps = { 0 };
+		CheckersPlayer black = position -> {
+			steps[0]++;
+			return new GrayRandomBot().play(position);
+		};
+		Optional<CheckersPlayer> loser = board.play(black, new GrayRandomBot(), GameListener.NO_OP, clock);
+		assertTrue(loser.isPresent() && loser.get() != black);
+		assertEquals(2, steps[0]);
+		long remaining = clock.getRemainingMillis(CheckersBoard.Player.BLACK);
+		assertTrue(remaining > 1000 && remaining <= 1100);
+	}
+
+	@Test
+	public void errorLosesTest() {
+		CheckersPlayer overflowing = board -> {
+			throw new StackOverflowError();
+		};
+		Throwable[] error = new Throwable[1];
+		Optional<CheckersPlayer> loser = CheckersBoard.initBoard().play(overflowing, new GrayRandomBot(), new GameListener() {
+			@Override
+			public void playerFailed(CheckersBoard board, CheckersPlayer agent, Throwable e) {
+				error[0] = e;
+			}
+		});
+		assertSame(overflowing, loser.get());
+		assertTrue(error[0] instanceof StackOverflowError);
+	}
+}
@@ -0,0 +1,48 @@
+package checkers;
+
+import checkers.bot.gray.GrayRandomBot;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class GameListenerTest {
+	@Test
+	public void eventsTest() {
+		int[] moves = new int[1];
+		GameListener.GameEndReason[] endReason = new GameListener.GameEndReason[1];
+		GameListener listener = new GameListener() {
+			@Override
+			public void moveApplied(CheckersBoard board, CheckersBoard.Player player, CheckersMove move) {
+				moves[0]++;
+			}
+
+			@Override
+			public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+				assertNull(endReason[0]);
+				endReason[0] = reason;
+			}
+		};
+		Optional<CheckersPlayer> loser = CheckersBoard.initBoard().play(new GrayRandomBot(), new GrayRandomBot(), listener);
+		assertTrue(moves[0] > 0);
+		assertNotNull(endReason[0]);
+		assertEquals(loser.isEmpty(), endReason[0] == GameListener.GameEndReason.MOVE_LIMIT//
+				|| endReason[0] == GameListener.GameEndReason.BOTH_BLOCKED);
+	}
+
+	@Test
+	public void illegalMoveLosesTest() {
+		CheckersPlayer cheater = board -> CheckersMove.builder().fromPosition(5, 0).toPosition(3, 2).build();
+		GameListener.GameEndReason[] endReason = new GameListener.GameEndReason[1];
+		Optional<CheckersPlayer> loser = CheckersBoard.initBoard().play(cheater, new GrayRandomBot(), new GameListener() {
+			@Override
+			public void gameEnded(CheckersBoard board, Optional<CheckersBoard.Player> loser, GameEndReason reason) {
+				assertEquals(Optional.of(CheckersBoard.Player.BLACK), loser);
+				endReason[0] = reason;
+			}
+		});
+		assertSame(cheater, loser.get());
+		assertEquals(GameListener.GameEndReason.ILLEGAL_MOVE, endReason[0]);
+	}
+}
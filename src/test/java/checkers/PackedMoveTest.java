@@ -0,0 +1,55 @@
+package checkers;
+
+import checkers.exception.BadMoveException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PackedMoveTest {
+	@Test
+	public void packTest() {
+		int capture = PackedMove.capture(21, 12, 16);
+		assertTrue(PackedMove.isCapture(capture));
+		assertEquals(21, PackedMove.from(capture));
+		assertEquals(12, PackedMove.to(capture));
+		assertEquals(16, PackedMove.captured(capture));
+		assertEquals(capture & 0xFFFF, capture);
+		assertFalse(PackedMove.isCapture(PackedMove.move(21, 17)));
+		assertNotEquals(PackedMove.NONE, PackedMove.move(0, 4));
+	}
+
+	@Test
+	public void generatedMovesMatchListsTest() {
+		CheckersBoard board = CheckersBoard.initBoard();
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		int count = board.possibleMoves(moves);
+		List<CheckersMove> list = board.possibleMoves();
+		assertEquals(list.size(), count);
+		for (int i = 0; i < count; i++) {
+			assertEquals(PackedMove.of(list.get(i)), moves[i]);
+		}
+		assertEquals(0, board.possibleCaptures(moves));
+		assertEquals(count, board.legalMoves(moves));
+	}
+
+	@Test
+	public void processPackedMoveTest() throws BadMoveException {
+		CheckersBoard board = CheckersBoard.initBoard();
+		board.processMove(PackedMove.of(CheckersMove.builder().fromPosition(5, 6).toPosition(4, 5).build()));
+		board.processMove(PackedMove.of(CheckersMove.builder().fromPosition(2, 3).toPosition(3, 4).build()));
+		try {
+			board.processMove(PackedMove.of(CheckersMove.builder().fromPosition(5, 0).toPosition(4, 1).build()));
+			fail("A move was accepted while a capture was possible!");
+		} catch (BadMoveException ex) {
+			assertEquals("A capture is possible, so you cannot move!", ex.getMessage());
+		}
+		int[] captures = new int[PackedMove.MAX_MOVES];
+		assertEquals(1, board.legalMoves(captures));
+		board.processMove(captures[0]);
+		assertEquals(11, board.countPiecesOfPlayer(CheckersBoard.Player.RED));
+		assertEquals(CheckersBoard.EMPTY, board.getBoard()[3][4]);
+		assertEquals(CheckersBoard.BLACK_PLAIN, board.getBoard()[2][3]);
+	}
+}
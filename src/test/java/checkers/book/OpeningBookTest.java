@@ -0,0 +1,113 @@
+package checkers.book;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.PackedMove;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.exception.BadMoveException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class OpeningBookTest {
+	private static final int[] GAME = {//
+			PackedMove.of(CheckersMove.builder().fromPosition(5, 0).toPosition(4, 1).build()),//
+			PackedMove.of(CheckersMove.builder().fromPosition(2, 7).toPosition(3, 6).build()) };
+	private static final int[] OTHER_GAME = {//
+			PackedMove.of(CheckersMove.builder().fromPosition(5, 2).toPosition(4, 3).build()),//
+			PackedMove.of(CheckersMove.builder().fromPosition(2, 1).toPosition(3, 2).build()) };
+
+	@Test
+	public void lookupTest() throws IOException {
+		OpeningBookBuilder builder = new OpeningBookBuilder();
+		builder.addGame(GAME, GAME.length, 0, Optional.of(CheckersBoard.Player.RED));
+		builder.addGame(GAME, GAME.length, 0, Optional.empty());
+		builder.addGame(OTHER_GAME, OTHER_GAME.length, 0, Optional.of(CheckersBoard.Player.BLACK));
+		builder.addGame(OTHER_GAME, OTHER_GAME.length, 0, Optional.of(CheckersBoard.Player.BLACK));
+		builder.addGame(OTHER_GAME, OTHER_GAME.length, 0, Optional.of(CheckersBoard.Player.RED));
+		assertEquals(4, builder.size());
+		Path file = Files.createTempFile("book", ".bin");
+		try {
+			builder.write(file);
+			OpeningBook book = new OpeningBook(file);
+			assertEquals(4, book.size());
+			CheckersBoard board = CheckersBoard.initBoard();
+			List<BookMove> moves = book.getMoves(board);
+			assertEquals(2, moves.size());
+			// 1.5 points in 2 games beats 1 point in 3 games
+			assertEquals(GAME[0], book.bestMove(board, 2));
+			assertEquals(OTHER_GAME[0], book.bestMove(board, 3));
+			assertEquals(PackedMove.NONE, book.bestMove(board, 4));
+			board.makeMove(GAME[0]);
+			assertEquals(GAME[1], book.bestMove(board, 1));
+			board.makeMove(GAME[1]);
+			assertEquals(PackedMove.NONE, book.bestMove(board, 1));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void bookPlayerTest() throws IOException, InterruptedException, BadMoveException {
+		OpeningBookBuilder builder = new OpeningBookBuilder(6);
+		builder.selfPlay(GrayRandomBot::new, 20, 2, 2);
+		assertTrue(builder.size() > 0);
+		Path file = Files.createTempFile("book", ".bin");
+		try {
+			builder.write(file);
+			OpeningBook book = new OpeningBook(file);
+			int[] calls = new int[1];
+			CheckersPlayer fallback = board -> {
+				calls[0]++;
+				return new GrayRandomBot().play(board);
+			};
+			BookPlayer player = new BookPlayer(book, fallback, 1);
+			CheckersBoard board = CheckersBoard.initBoard();
+			// the random first plies are left out of the book
+			board.processMove(player.play(board.clone()));
+			assertEquals(1, calls[0]);
+			board.processMove(player.play(board.clone()));
+			assertEquals(2, calls[0]);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void closesFallbackTest() throws IOException {
+		Path file = Files.createTempFile("book", ".bin");
+		try {
+			new OpeningBookBuilder().write(file);
+			boolean[] closed = new boolean[1];
+			CheckersPlayer.close(new BookPlayer(new OpeningBook(file), new ClosingPlayer(closed)));
+			assertTrue(closed[0]);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static class ClosingPlayer implements CheckersPlayer, AutoCloseable {
+		private final boolean[] closed;
+
+		ClosingPlayer(boolean[] closed) {
+			this.closed = closed;
+		}
+
+		@Override
+		public CheckersMove play(CheckersBoard board) {
+			return new GrayRandomBot().play(board);
+		}
+
+		@Override
+		public void close() {
+			closed[0] = true;
+		}
+	}
+}
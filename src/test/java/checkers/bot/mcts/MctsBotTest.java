@@ -0,0 +1,94 @@
+package checkers.bot.mcts;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.GameListener;
+import checkers.PackedMove;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.exception.BadMoveException;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class MctsBotTest {
+	@Test
+	public void playsLegalMovesTest() {
+		MctsBot bot = new MctsBot(10, 1, 1 << 14);
+		GrayRandomBot random = new GrayRandomBot();
+		CheckersBoard board = CheckersBoard.initBoard();
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		for (int ply = 0; ply < 80 && board.legalMoves(moves) > 0; ply++) {
+			CheckersBoard before = board.clone();
+			CheckersMove move = board.getCurrentPlayer() == CheckersBoard.Player.BLACK ? bot.play(board.clone()) : random.play(board.clone());
+			try {
+				board.processMove(move);
+			} catch (BadMoveException e) {
+				before.printBoard();
+				fail(e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void reusesTreeTest() throws BadMoveException {
+		MctsBot bot = new MctsBot(100);
+		CheckersBoard board = CheckersBoard.initBoard();
+		board.processMove(bot.play(board.clone()));
+		MctsResult first = bot.getLastResult();
+		assertEquals(0, first.getReusedNodes());
+		assertTrue(first.getPlayouts() > 0);
+		assertTrue(first.getNodes() > 1);
+		board.processMove(new GrayRandomBot().play(board.clone()));
+		CheckersBoard before = board.clone();
+		bot.play(board);
+		assertTrue(bot.getLastResult().getReusedNodes() > 1);
+		// the search walks the board it is given and restores it
+		assertEquals(before, board);
+		assertEquals(0, board.getUndoDepth());
+	}
+
+	@Test
+	public void parallelSearchTest() {
+		try (MctsBot bot = new MctsBot(100, 3)) {
+			bot.play(CheckersBoard.initBoard());
+			MctsResult result = bot.getLastResult();
+			assertTrue(result.getPlayouts() > 0);
+			assertTrue(result.getVisits() > 0);
+			assertTrue(result.getNodes() <= result.getCapacity());
+		}
+	}
+
+	@Test
+	public void fullPoolTest() {
+		NodePool pool = new NodePool(PackedMove.MAX_MOVES + 1);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		int count = CheckersBoard.initBoard().legalMoves(moves);
+		assertEquals(count, pool.expand(NodePool.ROOT, moves, count));
+		int size = pool.size();
+		// the failed attempts must not take any room
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(NodePool.UNEXPANDED, pool.expand(pool.firstChild(NodePool.ROOT), moves, PackedMove.MAX_MOVES));
+		}
+		assertEquals(size, pool.size());
+		assertEquals(count, pool.expand(pool.firstChild(NodePool.ROOT), moves, count));
+	}
+
+	@Test
+	public void beatsRandomBotTest() {
+		int wins = 0;
+		for (int game = 0; game < 4; game++) {
+			MctsBot bot = new MctsBot(20, 1, 1 << 16);
+			CheckersPlayer random = new GrayRandomBot();
+			Optional<CheckersPlayer> loser = game % 2 == 0//
+					? CheckersBoard.initBoard().play(bot, random, GameListener.NO_OP)//
+					: CheckersBoard.initBoard().play(random, bot, GameListener.NO_OP);
+			if (loser.isPresent() && loser.get() == random) {
+				wins++;
+			}
+		}
+		assertTrue(wins >= 3);
+	}
+}
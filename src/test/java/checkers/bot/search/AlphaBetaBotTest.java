@@ -0,0 +1,55 @@
+package checkers.bot.search;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.PackedMove;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.exception.BadMoveException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AlphaBetaBotTest {
+	@Test
+	public void playsLegalMovesTest() {
+		CheckersBoard board = CheckersBoard.initBoard();
+		AlphaBetaBot bot = new AlphaBetaBot(10);
+		GrayRandomBot random = new GrayRandomBot();
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		for (int ply = 0; ply < 60 && board.legalMoves(moves) > 0; ply++) {
+			CheckersBoard before = board.clone();
+			CheckersMove move = board.getCurrentPlayer() == CheckersBoard.Player.BLACK ? bot.play(board.clone()) : random.play(board.clone());
+			try {
+				board.processMove(move);
+			} catch (BadMoveException e) {
+				before.printBoard();
+				fail(e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void reportsSearchTest() {
+		AlphaBetaBot bot = new AlphaBetaBot(1000, 6);
+		CheckersBoard board = CheckersBoard.initBoard();
+		bot.play(board);
+		SearchResult result = bot.getLastResult();
+		assertEquals(6, result.getDepth());
+		assertTrue(result.getNodes() > 0);
+		assertEquals(result.getBestMove(), result.getPrincipalVariation()[0]);
+		// the searcher walks the board it is given and restores it
+		assertEquals(CheckersBoard.initBoard(), board);
+		assertEquals(0, board.getUndoDepth());
+	}
+
+	@Test
+	public void parallelSearchTest() throws BadMoveException {
+		try (AlphaBetaBot bot = new AlphaBetaBot(200, 8, 4, 3)) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			board.processMove(bot.play(board.clone()));
+			SearchResult result = bot.getLastResult();
+			assertTrue(result.getDepth() >= 8);
+			assertTrue(bot.getTranspositionTable().getHits() > 0);
+		}
+	}
+}
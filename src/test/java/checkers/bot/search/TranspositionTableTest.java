@@ -0,0 +1,43 @@
+package checkers.bot.search;
+
+import checkers.PackedMove;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+	@Test
+	public void storeAndProbeTest() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertEquals(1 << 16, table.getCapacity());
+		long key = 0x1234_5678_9ABC_DEF0L;
+		int move = PackedMove.capture(21, 14, 17);
+		assertEquals(TranspositionTable.MISS, table.probe(key));
+		table.store(key, 7, TranspositionTable.LOWER_BOUND, -250, move);
+		long entry = table.probe(key);
+		assertEquals(move, TranspositionTable.move(entry));
+		assertEquals(-250, TranspositionTable.score(entry));
+		assertEquals(7, TranspositionTable.depth(entry));
+		assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+		assertEquals(1, table.getHits());
+	}
+
+	@Test
+	public void collisionTest() {
+		TranspositionTable table = new TranspositionTable(1);
+		long key = 42;
+		// same slot, different position
+		long otherKey = key + ((long) table.getCapacity() << 32) + table.getCapacity();
+		table.store(key, 5, TranspositionTable.EXACT, 10, PackedMove.move(21, 17));
+		assertEquals(TranspositionTable.MISS, table.probe(otherKey));
+		assertEquals(1, table.getCollisions());
+		// a shallower result of the same search does not replace a deeper one
+		table.store(otherKey, 3, TranspositionTable.EXACT, 20, PackedMove.move(22, 17));
+		assertNotEquals(TranspositionTable.MISS, table.probe(key));
+		table.newSearch();
+		table.store(otherKey, 3, TranspositionTable.EXACT, 20, PackedMove.move(22, 17));
+		assertEquals(TranspositionTable.MISS, table.probe(key));
+		assertEquals(20, TranspositionTable.score(table.probe(otherKey)));
+		assertEquals(1, table.getOverwrites());
+	}
+}
@@ -0,0 +1,102 @@
+package checkers.eval;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DefaultEvaluatorTest {
+	@Test
+	public void symmetryTest() {
+		DefaultEvaluator evaluator = new DefaultEvaluator();
+		assertEquals(0, evaluator.evaluate(CheckersBoard.initBoard()));
+		Random random = new Random(3);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		int[] features = new int[DefaultEvaluator.FEATURES];
+		int[] flippedFeatures = new int[DefaultEvaluator.FEATURES];
+		for (int game = 0; game < 20; game++) {
+			CheckersBoard board = CheckersBoard.initBoard();
+			for (int ply = 0, count = board.legalMoves(moves); ply < 200 && count > 0; ply++, count = board.legalMoves(moves)) {
+				board.makeMove(moves[random.nextInt(count)]);
+				// the same position with the colors swapped, which turns the board around
+				CheckersBoard flipped = CheckersBoard.of(Integer.reverse(board.getPieces(CheckersBoard.Player.RED)),//
+						Integer.reverse(board.getPieces(CheckersBoard.Player.BLACK)), Integer.reverse(board.getKings()), board.otherPlayer());
+				assertEquals(evaluator.evaluate(board), evaluator.evaluate(flipped));
+				DefaultEvaluator.features(board, features);
+				DefaultEvaluator.features(flipped, flippedFeatures);
+				for (int feature = 0; feature < DefaultEvaluator.FEATURES; feature++) {
+					assertEquals(-features[feature], flippedFeatures[feature]);
+				}
+				assertEquals(board.countMen(CheckersBoard.Player.BLACK) - board.countMen(CheckersBoard.Player.RED), features[DefaultEvaluator.MEN]);
+			}
+		}
+	}
+
+	@Test
+	public void mobilityTest() {
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		int[] features = new int[DefaultEvaluator.FEATURES];
+		Random random = new Random(9);
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int ply = 0, count = board.legalMoves(moves); ply < 200 && count > 0; ply++, count = board.legalMoves(moves)) {
+			board.makeMove(moves[random.nextInt(count)]);
+			DefaultEvaluator.features(board, features);
+			int mobility = board.possibleMoves(CheckersBoard.Player.BLACK, moves) - board.possibleMoves(CheckersBoard.Player.RED, moves);
+			assertEquals(mobility, features[DefaultEvaluator.MOBILITY]);
+		}
+	}
+
+	@Test
+	public void batchTest() {
+		Evaluator evaluator = new DefaultEvaluator(new int[] { 100, 150, 3, 5, 7, 11 });
+		PositionBatch batch = new PositionBatch(4);
+		Random random = new Random(1);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		CheckersBoard board = CheckersBoard.initBoard();
+		for (int ply = 0, count = board.legalMoves(moves); ply < 100 && count > 0; ply++, count = board.legalMoves(moves)) {
+			board.makeMove(moves[random.nextInt(count)]);
+			batch.add(board);
+		}
+		int[] scores = new int[batch.size()];
+		evaluator.evaluate(batch, scores);
+		int[] expected = new int[batch.size()];
+		// the default method, which scores one board at a time
+		((Evaluator) evaluator::evaluate).evaluate(batch, expected);
+		assertArrayEquals(expected, scores);
+	}
+
+	@Test
+	public void weightsFileTest() throws IOException {
+		Path file = Files.createTempFile("weights", ".txt");
+		try {
+			DefaultEvaluator evaluator = new DefaultEvaluator(new int[] { 100, 140, 1, 2, 3, 4 });
+			evaluator.save(file);
+			assertArrayEquals(evaluator.getWeights(), DefaultEvaluator.load(file).getWeights());
+			Files.write(file, "# only the kings\nkings 160 # more than before\n".getBytes());
+			assertEquals(160, DefaultEvaluator.load(file).getWeight(DefaultEvaluator.KINGS));
+			assertEquals(new DefaultEvaluator().getWeight(DefaultEvaluator.MEN), DefaultEvaluator.load(file).getWeight(DefaultEvaluator.MEN));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void weightsPropertyTest() throws IOException {
+		assertArrayEquals(new DefaultEvaluator().getWeights(), DefaultEvaluator.configured().getWeights());
+		Path file = Files.createTempFile("weights", ".txt");
+		try {
+			Files.write(file, "kings 150\n".getBytes());
+			System.setProperty(DefaultEvaluator.WEIGHTS_PROPERTY, file.toString());
+			assertEquals(150, DefaultEvaluator.configured().getWeight(DefaultEvaluator.KINGS));
+		} finally {
+			System.clearProperty(DefaultEvaluator.WEIGHTS_PROPERTY);
+			Files.delete(file);
+		}
+	}
+}
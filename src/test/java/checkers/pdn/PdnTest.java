@@ -0,0 +1,90 @@
+package checkers.pdn;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.exception.BadMoveException;
+import checkers.exception.PdnException;
+import checkers.record.GameRecord;
+import checkers.record.GameRecorder;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PdnTest {
+	@Test
+	public void writeAndReadTest() throws IOException, BadMoveException {
+		List<GameRecord> games = new ArrayList<>();
+		StringWriter text = new StringWriter();
+		try (PdnWriter writer = new PdnWriter(text)) {
+			for (int i = 0; i < 50; i++) {
+				CheckersBoard.initBoard().play(new GrayRandomBot(), new GrayRandomBot(), new GameRecorder(games::add));
+				writer.write(games.get(i));
+			}
+		}
+		try (PdnReader reader = new PdnReader(new StringReader(text.toString()))) {
+			for (int i = 0; i < 50; i++) {
+				PdnGame game = reader.read();
+				assertArrayEquals(games.get(i).getMoves(), game.getMoves());
+				assertEquals(games.get(i).getLoser(), game.getLoser());
+			}
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void fenTest() throws PdnException {
+		CheckersBoard board = Pdn.parseFen("W:W21,22,K30:B1-3,K9");
+		assertEquals(CheckersBoard.Player.RED, board.getCurrentPlayer());
+		assertEquals(4, Integer.bitCount(board.getPieces(CheckersBoard.Player.BLACK)));
+		assertEquals(2, Integer.bitCount(board.getKings()));
+		assertEquals("W:W21,22,K30:B1,2,3,K9", Pdn.fen(board));
+		assertTrue(Pdn.isInitialPosition(Pdn.parseFen(Pdn.fen(CheckersBoard.initBoard()))));
+		try {
+			Pdn.parseFen("B:W21,22:B22");
+			fail("A square given twice was accepted!");
+		} catch (PdnException ex) {
+			assertEquals("Square 22 is given twice in the FEN position B:W21,22:B22", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void readTest() throws IOException {
+		String text = "[Event \"Test \\\"game\\\"\"]\n"//
+				+ "[FEN \"B:W14,23,30:B9\"]\n"//
+				+ "{ a double capture } 1. 9x27 $1 (1. 9x18 { the same }) 30-26 ; the last move\n"//
+				+ "1-0\n"//
+				+ "1. 11-15 22-18 2. 15x22 25x18 *";
+		try (PdnReader reader = new PdnReader(new StringReader(text))) {
+			PdnGame game = reader.read();
+			assertEquals("Test \"game\"", game.getTag("Event"));
+			assertEquals(Pdn.BLACK_WINS, game.getResult());
+			// the short notation of the capture is read as its two steps
+			assertEquals(3, game.getMoveCount());
+			assertTrue(PackedMove.isCapture(game.getMove(0)) && PackedMove.isCapture(game.getMove(1)));
+			assertEquals(Pdn.square(27), PackedMove.to(game.getMove(1)));
+
+			game = reader.read();
+			assertEquals(4, game.getMoveCount());
+			assertEquals(Pdn.UNKNOWN_RESULT, game.getResult());
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void errorLineTest() throws IOException {
+		String text = "[Event \"Test\"]\n1. 11-15 22-18\n2. 15-20 *";
+		try (PdnReader reader = new PdnReader(new StringReader(text))) {
+			reader.read();
+			fail("An illegal move was accepted!");
+		} catch (PdnException ex) {
+			assertEquals("Line 3: Illegal move 15-20 for BLACK!", ex.getMessage());
+		}
+	}
+}
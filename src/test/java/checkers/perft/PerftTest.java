@@ -0,0 +1,37 @@
+package checkers.perft;
+
+import checkers.CheckersBoard;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class PerftTest {
+	@Test
+	public void startingPositionTest() {
+		Perft perft = new Perft(0);
+		for (int depth = 0; depth <= 7; depth++) {
+			assertEquals(Perft.startingPositionCount(depth), perft.count(CheckersBoard.initBoard(), depth));
+		}
+	}
+
+	@Test
+	public void modesAgreeTest() {
+		CheckersBoard board = CheckersBoard.initBoard();
+		long serial = new Perft(0).count(board, 8);
+		assertEquals(serial, new Perft(4).count(board, 8));
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			assertEquals(serial, new Perft(4).countInParallel(board, 8, pool));
+		} finally {
+			pool.shutdown();
+		}
+		long divided = 0;
+		for (Perft.DivideEntry entry : new Perft(0).divide(board, 8)) {
+			divided += entry.getNodes();
+		}
+		assertEquals(serial, divided);
+		assertEquals(CheckersBoard.initBoard(), board);
+	}
+}
@@ -0,0 +1,101 @@
+package checkers.record;
+
+import checkers.CheckersBoard;
+import checkers.CheckersPlayer;
+import checkers.GameListener;
+import checkers.PackedMove;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.exception.BadMoveException;
+import checkers.tournament.Tournament;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class GameRecordTest {
+	@Test
+	public void writeAndReadTest() throws IOException, BadMoveException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		List<GameRecord> games = new ArrayList<>();
+		List<CheckersBoard> finalBoards = new ArrayList<>();
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			for (int i = 0; i < 50; i++) {
+				CheckersBoard board = CheckersBoard.initBoard();
+				board.play(new GrayRandomBot(), new GrayRandomBot(), new GameRecorder(games::add));
+				writer.write(games.get(i));
+				finalBoards.add(board);
+			}
+			assertEquals(50, writer.getGames());
+		}
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for (int i = 0; i < 50; i++) {
+				GameRecord game = reader.read();
+				assertEquals(games.get(i), game);
+				assertEquals(finalBoards.get(i), game.replay());
+			}
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void compactTest() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		GameRecord game = new GameRecord(new int[0], Optional.empty(), GameListener.GameEndReason.MOVE_LIMIT);
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			writer.write(game);
+		}
+		// the header, then a byte for the move count and a byte for the result
+		assertEquals(6, bytes.size());
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(game, reader.read());
+		}
+	}
+
+	@Test
+	public void illegalGameTest() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		GameRecord game = new GameRecord(new int[0], Optional.empty(), GameListener.GameEndReason.MOVE_LIMIT);
+		int[] moves = new int[PackedMove.MAX_MOVES];
+		CheckersBoard.initBoard().legalMoves(moves);
+		// the first move twice, so that the second one is illegal
+		GameRecord illegal = new GameRecord(new int[] { moves[0], moves[0] }, Optional.empty(), GameListener.GameEndReason.MOVE_LIMIT);
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			try {
+				writer.write(illegal);
+				fail("An illegal game was written!");
+			} catch (IllegalArgumentException e) {
+				assertTrue(e.getMessage().startsWith("Move 2 of the game"));
+			}
+			writer.write(game);
+			assertEquals(1, writer.getGames());
+		}
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(game, reader.read());
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void tournamentRecordTest() throws IOException, InterruptedException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		List<Class<? extends CheckersPlayer>> players = List.of(GrayRandomBot.class, GrayRandomBot.class);
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			Tournament tournament = new Tournament(players, 10, 2);
+			tournament.setRecordWriter(writer);
+			tournament.run();
+		}
+		int games = 0;
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			while (reader.read() != null) {
+				games++;
+			}
+		}
+		assertEquals(10, games);
+	}
+}
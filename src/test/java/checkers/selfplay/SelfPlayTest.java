@@ -0,0 +1,144 @@
+package checkers.selfplay;
+
+import checkers.CheckersBoard;
+import checkers.CheckersMove;
+import checkers.CheckersPlayer;
+import checkers.bot.gray.GrayRandomBot;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SelfPlayTest {
+	@Test
+	public void longHashSetTest() {
+		LongHashSet set = new LongHashSet(4);
+		for (long key = -1000; key < 1000; key++) {
+			assertTrue(set.add(key * 0x100000001L));
+		}
+		for (long key = -1000; key < 1000; key++) {
+			assertFalse(set.add(key * 0x100000001L));
+			assertTrue(set.contains(key * 0x100000001L));
+		}
+		assertFalse(set.contains(12345));
+		assertEquals(2000, set.size());
+	}
+
+	@Test
+	public void writesDistinctLabeledPositionsTest() throws IOException, InterruptedException {
+		Path directory = Files.createTempDirectory("selfplay");
+		try {
+			SelfPlay selfPlay = new SelfPlay(List.of(GrayRandomBot::new));
+			selfPlay.setThreads(2);
+			selfPlay.setShardSize(500);
+			selfPlay.setQueueCapacity(4);
+			SelfPlayResult result = selfPlay.run(200, directory, "test");
+			assertEquals(200, result.getGames());
+			assertEquals(200, result.getLabeledGames());
+			assertTrue(result.getWritten() > 500);
+			assertTrue(result.getSampled() >= result.getWritten());
+			List<Path> shards;
+			try (Stream<Path> files = Files.list(directory)) {
+				shards = files.sorted().collect(Collectors.toList());
+			}
+			assertEquals(result.getShards(), shards.size());
+			assertEquals("test-00000.pos", shards.get(0).getFileName().toString());
+
+			LongHashSet keys = new LongHashSet(1000);
+			long positions = 0;
+			for (Path shard : shards) {
+				try (InputStream in = Files.newInputStream(shard); PositionReader reader = new PositionReader(in)) {
+					while (reader.next()) {
+						CheckersBoard board = CheckersBoard.of(reader.getBlack(), reader.getRed(), reader.getKings(), reader.getToMove());
+						assertTrue(keys.add(board.zobristKey()));
+						// only quiet positions are sampled
+						assertFalse(board.isCapturePossible());
+						assertTrue(reader.getResult() >= PositionWriter.BLACK_LOSS && reader.getResult() <= PositionWriter.BLACK_WIN);
+						positions++;
+					}
+				}
+			}
+			assertEquals(result.getWritten(), positions);
+			assertEquals(PositionWriter.BYTES_PER_POSITION * 500 + 4, Files.size(shards.get(0)));
+		} finally {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void countsForfeitedGamesTest() throws IOException, InterruptedException {
+		AtomicInteger closed = new AtomicInteger();
+		// a player without a move loses by an error, which gives no labels
+		SelfPlay selfPlay = new SelfPlay(List.of(() -> new ForfeitingBot(closed)));
+		selfPlay.setThreads(2);
+		Path directory = Files.createTempDirectory("selfplay");
+		try {
+			SelfPlayResult result = selfPlay.run(20, directory, "test");
+			assertEquals(20, result.getGames());
+			assertEquals(0, result.getLabeledGames());
+			assertEquals(0, result.getShards());
+			assertEquals(40, closed.get());
+		} finally {
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void writerFailureTest() throws IOException, InterruptedException {
+		SelfPlay selfPlay = new SelfPlay(List.of(GrayRandomBot::new));
+		selfPlay.setThreads(2);
+		selfPlay.setQueueCapacity(1);
+		Path directory = Files.createTempDirectory("selfplay");
+		// a directory where the first shard goes, so that the writer fails
+		Path shard = Files.createDirectory(directory.resolve("test-00000.pos"));
+		try {
+			selfPlay.run(1000, directory, "test");
+			fail("The writer did not fail!");
+		} catch (IOException e) {
+			// the game threads stop rather than wait for room in the queue forever
+			long deadline = System.nanoTime() + 5_000_000_000L;
+			while (selfPlayThreads() > 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, selfPlayThreads());
+		} finally {
+			Files.delete(shard);
+			Files.delete(directory);
+		}
+	}
+
+	private static long selfPlayThreads() {
+		return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().equals("self-play")).count();
+	}
+
+	private static class ForfeitingBot implements CheckersPlayer, AutoCloseable {
+		private final AtomicInteger closed;
+
+		ForfeitingBot(AtomicInteger closed) {
+			this.closed = closed;
+		}
+
+		@Override
+		public CheckersMove play(CheckersBoard board) {
+			return null;
+		}
+
+		@Override
+		public void close() {
+			closed.incrementAndGet();
+		}
+	}
+}
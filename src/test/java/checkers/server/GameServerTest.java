@@ -0,0 +1,98 @@
+package checkers.server;
+
+import checkers.CheckersBoard;
+import checkers.GameListener;
+import checkers.TimeControl;
+import checkers.bot.gray.GrayRandomBot;
+import checkers.record.GameRecord;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class GameServerTest {
+	@Test
+	public void remoteGamesTest() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(4);
+		try (GameServer server = new GameServer(0, TimeControl.perMove(5000))) {
+			server.start();
+			List<Future<GameRecord>> games = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				String name = "bot" + i;
+				games.add(clients.submit(() -> RemoteBotClient.play("localhost", server.getPort(), name, new GrayRandomBot())));
+			}
+			for (Future<GameRecord> game : games) {
+				GameRecord record = game.get();
+				assertTrue(record.getMoveCount() > 0);
+				// the moves sent by the server replay to a finished game
+				assertNotNull(record.replay());
+			}
+			assertEquals(2, server.getGamesPlayed());
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	@Test
+	public void abandonedWaitTest() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(2);
+		try (GameServer server = new GameServer(0, TimeControl.perMove(5000))) {
+			server.start();
+			try (Socket socket = new Socket("localhost", server.getPort())) {
+				Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+				out.write("HELLO quitter\n");
+				out.flush();
+				// gives the server the time to queue the player before it hangs up
+				Thread.sleep(500);
+			}
+			List<Future<GameRecord>> games = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				String name = "bot" + i;
+				games.add(clients.submit(() -> RemoteBotClient.play("localhost", server.getPort(), name, new GrayRandomBot())));
+			}
+			// the two bots play each other, rather than one of them the player that hung up
+			for (Future<GameRecord> game : games) {
+				assertNotEquals(GameListener.GameEndReason.PLAYER_ERROR, game.get(30, TimeUnit.SECONDS).getReason());
+			}
+			assertEquals(1, server.getGamesPlayed());
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	@Test
+	public void moveTimeoutTest() throws Exception {
+		ExecutorService clients = Executors.newSingleThreadExecutor();
+		try (GameServer server = new GameServer(0, TimeControl.perMove(200)); Socket socket = new Socket("localhost", server.getPort())) {
+			server.start();
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+			out.write("HELLO sleeper\n");
+			out.flush();
+			Future<GameRecord> opponent = clients.submit(() -> RemoteBotClient.play("localhost", server.getPort(), "bot", new GrayRandomBot()));
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			String color = in.readLine().split(" ")[1];
+			String line = in.readLine();
+			while (!line.startsWith("END ")) {
+				// never answers a TURN
+				line = in.readLine();
+			}
+			assertEquals(color, line.split(" ")[1]);
+			assertEquals(GameListener.GameEndReason.TIMEOUT.name(), line.split(" ")[2]);
+			assertEquals(CheckersBoard.Player.valueOf(color), opponent.get().getLoser().get());
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+}
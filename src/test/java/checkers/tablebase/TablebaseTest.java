@@ -0,0 +1,124 @@
+package checkers.tablebase;
+
+import checkers.CheckersBoard;
+import checkers.PackedMove;
+import checkers.bot.search.AlphaBetaBot;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TablebaseTest {
+	@Test
+	public void indexTest() {
+		Material material = new Material(2, 1, 1, 2);
+		int[] masks = new int[3];
+		Random random = new Random(42);
+		for (int i = 0; i < 10_000; i++) {
+			int index = random.nextInt(material.size());
+			if (material.decode(index, masks)) {
+				assertEquals(material, Material.of(masks[0], masks[1], masks[2]));
+				assertEquals(0, masks[0] & masks[1]);
+				assertEquals(index, material.index(masks[0], masks[1], masks[2]));
+			}
+		}
+	}
+
+	@Test
+	public void resultsFollowFromMovesTest() throws IOException {
+		Path directory = Files.createTempDirectory("tablebase");
+		try {
+			Tablebase tablebase = new TablebaseGenerator(directory).generate(3);
+			assertEquals(3, tablebase.getMaxPieces());
+			CheckersBoard board = CheckersBoard.initBoard();
+			int[] masks = new int[3];
+			int[][] moves = new int[Material.MAX_PIECES][PackedMove.MAX_MOVES];
+			for (Material material : Material.solvingOrder(3)) {
+				for (int index = 0; index < material.size(); index++) {
+					if (!material.decode(index, masks)) {
+						continue;
+					}
+					board.setPosition(masks[0], masks[1], masks[2], CheckersBoard.Player.BLACK);
+					int result = tablebase.probe(board);
+					assertEquals(expectedResult(board, tablebase, moves), result);
+				}
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test
+	public void botPlaysTablebaseWinTest() throws IOException {
+		Path directory = Files.createTempDirectory("tablebase");
+		try {
+			Tablebase tablebase = new TablebaseGenerator(directory).generate(3);
+			// two black kings against a red king in the double corner
+			CheckersBoard board = CheckersBoard.of((1 << 13) | (1 << 18), 1 << 3, (1 << 13) | (1 << 18) | (1 << 3), CheckersBoard.Player.BLACK);
+			int result = tablebase.probe(board);
+			assertTrue(Tablebase.isWin(result));
+			AlphaBetaBot bot = new AlphaBetaBot(200);
+			bot.setTablebase(tablebase);
+			board.makeMove(PackedMove.of(bot.play(board.clone())));
+			int after = tablebase.probe(board);
+			assertTrue(Tablebase.isLoss(after));
+			assertEquals(Tablebase.distance(result) - 1, Tablebase.distance(after));
+		} finally {
+			delete(directory);
+		}
+	}
+
+	/**
+	 * Computes the result of a position from the results of its moves, following chained captures.
+	 */
+	private static int expectedResult(CheckersBoard board, Tablebase tablebase, int[][] moves) {
+		int count = board.legalMoves(moves[0]);
+		if (count == 0) {
+			return board.hasLegalAction(CheckersBoard.Player.RED) ? 1 : Tablebase.DRAW;
+		}
+		int[] best = { -1, -1 };
+		playTurns(board, tablebase, moves, 0, count, best);
+		if (best[0] >= 0) {
+			return 1 + best[0];
+		}
+		return best[1] >= 0 ? 1 + best[1] : Tablebase.DRAW;
+	}
+
+	/**
+	 * Finds the shortest win in {@code best[0]}, and the longest loss in {@code best[1]} if every move loses.
+	 */
+	private static void playTurns(CheckersBoard board, Tablebase tablebase, int[][] moves, int ply, int count, int[] best) {
+		for (int i = 0; i < count; i++) {
+			board.makeMove(moves[ply][i]);
+			if (board.isCaptureLock()) {
+				playTurns(board, tablebase, moves, ply + 1, board.legalMoves(moves[ply + 1]), best);
+			} else {
+				int result = board.getPieces(CheckersBoard.Player.RED) == 0 ? 1 : tablebase.probe(board);
+				assertNotEquals(Tablebase.UNKNOWN, result);
+				int distance = Tablebase.distance(result) + 1;
+				if (Tablebase.isLoss(result)) {
+					best[0] = best[0] < 0 ? distance : Math.min(best[0], distance);
+				} else if (result == Tablebase.DRAW) {
+					best[1] = Integer.MIN_VALUE;
+				} else if (best[1] != Integer.MIN_VALUE) {
+					best[1] = Math.max(best[1], distance);
+				}
+			}
+			board.unmakeMove();
+		}
+	}
+
+	private static void delete(Path directory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+}
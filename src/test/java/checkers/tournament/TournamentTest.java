@@ -0,0 +1,36 @@
+package checkers.tournament;
+
+import checkers.CheckersPlayer;
+import checkers.bot.gray.GrayRandomBot;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+	@Test
+	public void eloTest() {
+		MatchResult result = new MatchResult(GrayRandomBot.class, GrayRandomBot.class);
+		for (int i = 0; i < 76; i++) {
+			result.record(MatchResult.Outcome.FIRST_WINS);
+		}
+		for (int i = 0; i < 24; i++) {
+			result.record(MatchResult.Outcome.SECOND_WINS);
+		}
+		assertEquals(0.76, result.getScore(), 1e-9);
+		// a 76% score is about 200 Elo
+		assertEquals(200, result.getElo(), 1);
+		assertTrue(result.getEloMargin() > 0 && result.getEloMargin() < 100);
+	}
+
+	@Test
+	public void roundRobinTest() throws InterruptedException {
+		List<Class<? extends CheckersPlayer>> players = List.of(GrayRandomBot.class, GrayRandomBot.class, GrayRandomBot.class);
+		List<MatchResult> results = new Tournament(players, 20, 2).run();
+		assertEquals(3, results.size());
+		for (MatchResult result : results) {
+			assertEquals(20, result.getGames());
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package checkers.tuning;
+
+import checkers.bot.gray.GrayRandomBot;
+import checkers.eval.DefaultEvaluator;
+import checkers.selfplay.SelfPlay;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class TexelTunerTest {
+	@Test
+	public void tuningLowersLossTest() throws IOException, InterruptedException {
+		Path directory = Files.createTempDirectory("tuning");
+		try {
+			SelfPlay selfPlay = new SelfPlay(List.of(GrayRandomBot::new));
+			selfPlay.setThreads(2);
+			selfPlay.run(500, directory, "test");
+			List<Path> files;
+			try (Stream<Path> list = Files.list(directory)) {
+				files = list.sorted().collect(Collectors.toList());
+			}
+			TrainingSet data = TrainingSet.load(files);
+			assertTrue(data.size() > 1000);
+			data.shuffle(1);
+
+			// starts far from the defaults, so that there is something to learn
+			DefaultEvaluator start = new DefaultEvaluator(new int[] { 10, 10, 10, 10, 10, 10 });
+			TexelTuner tuner = new TexelTuner(data, start, 0.1, ForkJoinPool.commonPool());
+			tuner.setBatchSize(256);
+			tuner.setScale(1);
+			double before = tuner.getTrainingLoss();
+			double after = tuner.tune(3);
+			assertTrue(after < before);
+			assertTrue(tuner.getValidationLoss() < 0.25);
+			// material decides the games of random bots
+			assertTrue(tuner.getEvaluator().getWeight(DefaultEvaluator.MEN) > 10);
+
+			Path weights = directory.resolve("weights.txt");
+			tuner.getEvaluator().save(weights);
+			assertArrayEquals(tuner.getEvaluator().getWeights(), DefaultEvaluator.load(weights).getWeights());
+		} finally {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+}